@@ -0,0 +1,82 @@
+package org.example;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.data.ProductCatalog;
+import org.example.data.ProductRow;
+import org.example.data.TestData;
+import org.example.pages.CartSnapshot;
+import org.example.pages.HomePage;
+import org.example.utils.CartApiClient;
+import org.example.utils.Config;
+import org.example.utils.DriverManager;
+import org.example.utils.SessionCache;
+import org.example.utils.StepTimer;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class CartPricingTest {
+    private static final Logger logger = LogManager.getLogger(CartPricingTest.class);
+
+    @BeforeMethod
+    public void setup() {
+        DriverManager.acquireDriver();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        StepTimer.end();
+        DriverManager.releaseDriver();
+    }
+
+    @Test(dataProvider = "productCatalog", dataProviderClass = ProductCatalog.class)
+    void testProductIsAddedToCartWithCatalogPrice(ProductRow product) {
+        // Every row adds to the shared account's cart, which PeriplusTest expects to hold exactly its one product
+        if (!Config.get().localServer()) {
+            throw new SkipException("The catalog cart test only runs against the stand-in server, where it has a cart of its own");
+        }
+
+        StepTimer.begin("Add " + product.id() + " to cart");
+
+        HomePage homePage = SessionCache.login(TestData.USER_EMAIL, TestData.USER_PASSWORD);
+        homePage.addProductToCartById(product.id());
+
+        StepTimer.begin("Verify " + product.id() + " in cart");
+
+        CartSnapshot cart = homePage.getCartSnapshot();
+        Assert.assertTrue(cart.containsProduct(product.price(), product.id(), product.titleLink()),
+                "Product " + product + " should be in cart, cart items: " + cart.items());
+
+        logger.info("Verified cart price of {}", product.title());
+    }
+
+    @Test
+    void testCartPreparedOverHttpIsShownInDropdown() {
+        // The form endpoints behind "api.login.path" and "cart.add.path" only exist on the stand-in server
+        if (!Config.get().localServer()) {
+            throw new SkipException("Cart API endpoints are only available when local.server is true");
+        }
+
+        StepTimer.begin("Prepare cart over HTTP");
+
+        HomePage homePage = SessionCache.login(TestData.USER_EMAIL, TestData.USER_PASSWORD);
+
+        try (CartApiClient api = CartApiClient.forDriver(DriverManager.getDriver())) {
+            api.addToCart(TestData.PRODUCT_ID, 1);
+            api.exportCookies(DriverManager.getDriver());
+        }
+
+        StepTimer.begin("Verify cart dropdown");
+
+        homePage.navigateTo();
+        CartSnapshot cart = homePage.getCartSnapshot();
+        // The signed-in user's cart is shared with the other tests restoring the same cached session
+        Assert.assertTrue(cart.count() != null && cart.count().matches("[1-9]\\d*"),
+                "Cart count should be at least 1 but was: " + cart.count());
+        Assert.assertTrue(cart.containsProduct(TestData.PRODUCT_PRICE, TestData.PRODUCT_ID, TestData.PRODUCT_TITLE_LINK),
+                "Product should be in cart, cart items: " + cart.items());
+    }
+}
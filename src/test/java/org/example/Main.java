@@ -0,0 +1,194 @@
+package org.example;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.data.TestData;
+import org.example.flows.StorefrontFlow;
+import org.example.utils.CartApiClient;
+import org.example.utils.Config;
+import org.example.utils.DriverFactory;
+import org.example.utils.LatencyRecorder;
+import org.example.utils.LocalPeriplusServer;
+import org.example.utils.PerformanceBudget;
+import org.example.utils.RollingCsvWriter;
+import org.example.utils.WebDriverPool;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic monitor that probes the storefront with the StorefrontFlow on a fixed schedule.
+ * One long-lived JVM keeps a warm browser session in a single-session WebDriverPool between checks,
+ * so a check only pays for the flow itself. Every check appends one row to a rolling metrics file.
+ * <p>
+ * Configured by "monitor.interval.seconds", "monitor.checks" (0 runs until the process is stopped),
+ * "monitor.metrics.file", "monitor.metrics.max.bytes" and "monitor.metrics.max.files".
+ * Runs against the local stand-in server when "local.server" is true, and against "base.url" otherwise.
+ * "monitor.read.only" limits a check to the steps that leave the cart alone. It defaults to true against
+ * the live site, so that the monitor does not fill the real account's cart around the clock. The full flow
+ * expects an empty cart, and the pool empties it after every check when "pool.reset.cart" is true,
+ * which is the default against the stand-in server.
+ */
+public class Main {
+    private static final Logger logger = LogManager.getLogger(Main.class);
+
+    private final WebDriverPool pool;
+    private final RollingCsvWriter metrics;
+    private final boolean readOnly;
+
+    /**
+     * Constructor for Main
+     *
+     * @param pool The pool holding the warm browser session
+     * @param metrics The file every check is appended to
+     * @param readOnly true to run only the steps that leave the cart alone
+     */
+    public Main(WebDriverPool pool, RollingCsvWriter metrics, boolean readOnly) {
+        this.pool = pool;
+        this.metrics = metrics;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Entry point
+     * Schedules a check every "monitor.interval.seconds" until "monitor.checks" checks have run
+     * or the process is stopped, then quits the browser
+     *
+     * @param args Not used
+     * @throws InterruptedException if interrupted while waiting for the checks to finish
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Config config = Config.get();
+        LocalPeriplusServer server = null;
+        if (config.localServer()) {
+            server = new LocalPeriplusServer(config.localServerPort(), TestData.USER_EMAIL, TestData.USER_PASSWORD);
+            server.start();
+            Config.override("base.url", server.getBaseUrl());
+        }
+
+        Duration interval = config.getSeconds("monitor.interval.seconds", Duration.ofSeconds(60));
+        long maxChecks = config.getLong("monitor.checks", 0);
+        List<String> header = new ArrayList<>(List.of("timestamp", "status", "total_ms"));
+        StorefrontFlow.STEPS.forEach(step -> header.add(step.replace(' ', '_') + "_ms"));
+        header.add("error");
+
+        WebDriverPool pool = new WebDriverPool(1, config.poolCheckoutTimeout(), config.poolMaxUses());
+        if (config.getBoolean("pool.reset.cart", config.localServer())) {
+            pool.setCartReset(CartApiClient::clearCart);
+        }
+        Main monitor = new Main(pool,
+                new RollingCsvWriter(Paths.get(config.get("monitor.metrics.file", "target/monitor/metrics.csv")),
+                        String.join(",", header),
+                        config.getLong("monitor.metrics.max.bytes", 10 * 1024 * 1024),
+                        config.getInt("monitor.metrics.max.files", 5)),
+                config.getBoolean("monitor.read.only", !config.localServer()));
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicLong checks = new AtomicLong();
+        scheduler.scheduleAtFixedRate(() -> {
+            monitor.check();
+            if (maxChecks > 0 && checks.incrementAndGet() >= maxChecks) {
+                finished.countDown();
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Monitoring {} every {} s with the {} flow", Config.get().baseUrl(), interval.toSeconds(),
+                monitor.readOnly ? "read-only" : "full");
+
+        LocalPeriplusServer localServer = server;
+        AtomicBoolean stopped = new AtomicBoolean();
+        Runnable stop = () -> {
+            if (stopped.compareAndSet(false, true)) {
+                scheduler.shutdown();
+                try {
+                    // Let a running check finish so that its row is written and the browser is idle
+                    scheduler.awaitTermination(config.poolCheckoutTimeout().toSeconds(), TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                monitor.pool.shutdown();
+                DriverFactory.shutdown();
+                if (localServer != null) {
+                    localServer.stop();
+                }
+            }
+        };
+        Runtime.getRuntime().addShutdownHook(new Thread(stop, "monitor-shutdown"));
+
+        finished.await();
+        stop.run();
+    }
+
+    /**
+     * Runs the flow once in the warm session and appends the outcome to the metrics file
+     * Failures are recorded as a failed check instead of being thrown, so that the schedule keeps running.
+     */
+    void check() {
+        Instant timestamp = Instant.now();
+        long start = System.nanoTime();
+        Map<String, Long> stepMillis = new LinkedHashMap<>();
+        String[] error = {null};
+
+        WebDriver driver = null;
+        try {
+            driver = pool.acquire();
+            List<StorefrontFlow.Step> steps = readOnly
+                    ? StorefrontFlow.readOnlySteps(driver)
+                    : StorefrontFlow.steps(driver, true);
+            StorefrontFlow.run(steps, (name, action) -> {
+                long stepStart = System.nanoTime();
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    error[0] = name + ": " + e.getMessage();
+                    return false;
+                }
+                stepMillis.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stepStart));
+                return true;
+            });
+        } catch (RuntimeException e) {
+            error[0] = "session: " + e.getMessage();
+        } finally {
+            if (driver != null) {
+                pool.release(driver);
+            }
+            // Checks are reported through the metrics file; keep the in-memory recorders from growing
+            PerformanceBudget.drainViolations();
+            LatencyRecorder.reset();
+        }
+
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        List<String> row = new ArrayList<>(List.of(timestamp.toString(), error[0] == null ? "ok" : "failed",
+                String.valueOf(totalMillis)));
+        StorefrontFlow.STEPS.forEach(step -> row.add(stepMillis.containsKey(step) ? String.valueOf(stepMillis.get(step)) : ""));
+        row.add(error[0] == null ? "" : error[0].lines().findFirst().orElse(""));
+
+        if (error[0] == null) {
+            logger.info("Check passed in {} ms", totalMillis);
+        } else {
+            logger.warn("Check failed after {} ms at {}", totalMillis, error[0].lines().findFirst().orElse(""));
+        }
+        try {
+            metrics.append(row);
+        } catch (IOException e) {
+            logger.warn("Failed to write monitor metrics: {}", e.getMessage());
+        }
+    }
+}
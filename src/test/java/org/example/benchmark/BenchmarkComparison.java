@@ -0,0 +1,80 @@
+package org.example.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH CSV result with a stored baseline and prints the change per benchmark.
+ * When no baseline exists yet, the baseline holds no results (e.g. only a header row),
+ * or "benchmark.updateBaseline" is true, the current result becomes the new baseline.
+ */
+public class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    /**
+     * Entry point
+     *
+     * @param args The baseline CSV path followed by the current CSV path
+     * @throws IOException if a result file cannot be read or the baseline cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Paths.get(args[0]);
+        Path currentFile = Paths.get(args[1]);
+
+        Map<String, Result> baseline = Files.exists(baselineFile) ? read(baselineFile) : Map.of();
+        if (baseline.isEmpty() || Boolean.getBoolean("benchmark.updateBaseline")) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(currentFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Saved " + currentFile + " as the benchmark baseline " + baselineFile);
+            return;
+        }
+
+        Map<String, Result> current = read(currentFile);
+
+        System.out.printf("%-30s %16s %16s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result after = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-30s %16s %10.3f %-5s %9s%n", entry.getKey(), "-", after.score(), after.unit(), "new");
+            } else {
+                double change = (after.score() - before.score()) / before.score() * 100;
+                System.out.printf("%-30s %10.3f %-5s %10.3f %-5s %+8.1f%%%n", entry.getKey(),
+                        before.score(), before.unit(), after.score(), after.unit(), change);
+            }
+        }
+    }
+
+    /**
+     * Reads the score and unit of every benchmark in a JMH CSV result ("-rf csv")
+     */
+    private static Map<String, Result> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] fields = line.split(",");
+            if (fields.length < 7) {
+                continue;
+            }
+            String benchmark = unquote(fields[0]);
+            results.put(benchmark.substring(benchmark.lastIndexOf('.') + 1),
+                    new Result(Double.parseDouble(fields[4]), unquote(fields[6])));
+        }
+        return results;
+    }
+
+    private static String unquote(String field) {
+        return field.replace("\"", "");
+    }
+
+    private record Result(double score, String unit) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.benchmark;
+
+import org.example.pages.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Exposes the protected BasePage primitives so that they can be benchmarked
+ */
+public class BenchmarkPage extends BasePage {
+
+    /**
+     * Constructor for BenchmarkPage
+     *
+     * @param driver The WebDriver instance to use for this page
+     */
+    public BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Clicks on an element after waiting for it to be clickable
+     *
+     * @param locator The By locator to find the element to click
+     */
+    public void clickOn(By locator) {
+        click(locator);
+    }
+
+    /**
+     * Types text into an element after waiting for it to be visible
+     *
+     * @param locator The By locator to find the element
+     * @param text The text to type into the element
+     */
+    public void typeInto(By locator, String text) {
+        type(locator, text);
+    }
+
+    /**
+     * Gets the text of an element after waiting for it to be visible
+     *
+     * @param locator The By locator to find the element
+     * @return The text content of the element
+     */
+    public String readText(By locator) {
+        return getText(locator);
+    }
+
+    /**
+     * Checks if an element is displayed after waiting for it to be visible
+     *
+     * @param locator The By locator to find the element
+     * @return true if the element is displayed, false if not displayed or not found
+     */
+    public boolean isDisplayed(By locator) {
+        return isElementDisplayed(locator);
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.benchmark;
+
+import org.example.data.TestData;
+import org.example.pages.HomePage;
+import org.example.utils.Config;
+import org.example.utils.DriverFactory;
+import org.example.utils.LocalPeriplusServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the page-object primitives against the local stand-in server in headless Chrome
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Dbrowser.headless=true", "-Dlatency.instrumentation=false", "-Dperf.capture=false"})
+public class PageObjectBenchmark {
+    private static final By cartIconLocator = By.id("show-your-cart");
+    private static final By cartCountLocator = By.id("cart_total");
+    private static final By searchFieldLocator = By.name("filter_name");
+    private static final By logoLocator = By.cssSelector(".logo.logo-new");
+
+    /**
+     * Headless browser opened on the homepage of a local stand-in server
+     */
+    @State(Scope.Thread)
+    public static class HomeState {
+        LocalPeriplusServer server;
+        WebDriver driver;
+        HomePage homePage;
+        BenchmarkPage page;
+
+        @Setup(Level.Trial)
+        public void start() {
+            server = new LocalPeriplusServer(0, TestData.USER_EMAIL, TestData.USER_PASSWORD);
+            server.start();
+            Config.override("base.url", server.getBaseUrl());
+
+            driver = DriverFactory.createDriver();
+            homePage = new HomePage(driver);
+            homePage.navigateTo();
+            page = new BenchmarkPage(driver);
+            prepare();
+        }
+
+        /**
+         * Hook for states that need more setup once the homepage is open
+         */
+        protected void prepare() {
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            driver.quit();
+            server.stop();
+        }
+    }
+
+    /**
+     * Homepage with an empty cart before every invocation
+     */
+    public static class EmptyCartState extends HomeState {
+        @Setup(Level.Invocation)
+        public void emptyCart() {
+            driver.manage().deleteAllCookies();
+            homePage = new HomePage(driver);
+            homePage.navigateTo();
+        }
+    }
+
+    /**
+     * Homepage with the test product already in the cart
+     */
+    public static class FilledCartState extends HomeState {
+        @Override
+        protected void prepare() {
+            homePage.addProductToCart(TestData.PRODUCT_TITLE);
+        }
+    }
+
+    @Benchmark
+    public void click(HomeState state) {
+        state.page.clickOn(cartIconLocator);
+    }
+
+    @Benchmark
+    public void type(HomeState state) {
+        state.page.typeInto(searchFieldLocator, TestData.PRODUCT_TITLE);
+    }
+
+    @Benchmark
+    public String getText(HomeState state) {
+        return state.page.readText(cartCountLocator);
+    }
+
+    @Benchmark
+    public boolean isElementDisplayed(HomeState state) {
+        return state.page.isDisplayed(logoLocator);
+    }
+
+    @Benchmark
+    public WebElement findProduct(HomeState state) {
+        // A fresh page object per call so that building the product index is part of the measurement
+        return new HomePage(state.driver).findProduct(TestData.PRODUCT_TITLE);
+    }
+
+    @Benchmark
+    public void addProductToCart(EmptyCartState state) {
+        state.homePage.addProductToCart(TestData.PRODUCT_TITLE);
+    }
+
+    @Benchmark
+    public boolean isProductInCart(FilledCartState state) {
+        return state.homePage.isProductInCart(TestData.PRODUCT_PRICE, TestData.PRODUCT_ID, TestData.PRODUCT_TITLE_LINK);
+    }
+}
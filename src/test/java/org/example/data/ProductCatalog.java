@@ -0,0 +1,340 @@
+package org.example.data;
+
+import org.example.utils.Config;
+import org.testng.annotations.DataProvider;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams product rows from a CSV or JSONL catalog, one line at a time,
+ * so that memory use does not grow with the size of the catalog.
+ * The catalog is read from "catalog.path" (a classpath resource or a file path).
+ * "catalog.shard=i/n" keeps only every n-th row starting at row i, so that n workers
+ * can each pull their own slice of the same catalog.
+ */
+public class ProductCatalog {
+
+    private ProductCatalog() {
+    }
+
+    /**
+     * Data provider streaming the configured product catalog, one ProductRow per invocation
+     *
+     * @return A lazy iterator over the rows of this worker's shard
+     */
+    @DataProvider(name = "productCatalog", parallel = true)
+    public static Iterator<Object[]> productCatalog() {
+        Config config = Config.get();
+        RowIterator rows = open(config.get("catalog.path", "catalog/products.csv"),
+                Shard.parse(config.get("catalog.shard", "0/1")));
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{rows.next()};
+            }
+        };
+    }
+
+    /**
+     * Opens a catalog for streaming
+     * Files ending in ".jsonl" are read as one JSON object per line, anything else as CSV with a header row.
+     * Both formats use the columns title, price, id and title_link.
+     *
+     * @param path A classpath resource or file path
+     * @param shard The slice of rows to return
+     * @return A lazy iterator over the rows; it closes the underlying reader once exhausted
+     * @throws UncheckedIOException if the catalog cannot be opened
+     */
+    public static RowIterator open(String path, Shard shard) {
+        try {
+            InputStream input = ProductCatalog.class.getClassLoader().getResourceAsStream(path);
+            if (input == null) {
+                Path file = Paths.get(path);
+                if (!Files.exists(file)) {
+                    throw new IOException("Product catalog not found on the classpath or disk: " + path);
+                }
+                input = Files.newInputStream(file);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            return new RowIterator(reader, path.endsWith(".jsonl"), shard);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open product catalog " + path, e);
+        }
+    }
+
+    /**
+     * Splits a CSV line into fields, honouring double-quoted fields and "" escapes
+     *
+     * @param line The CSV line
+     * @return The unquoted fields
+     */
+    public static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                field.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Parses a flat JSON object such as {"title": "Cover Story", "id": 67821264}
+     * Values are returned as strings; nested objects and arrays are not supported.
+     *
+     * @param line The JSON object
+     * @return The object's fields
+     * @throws IllegalArgumentException if the line is not a flat JSON object
+     */
+    public static Map<String, String> parseJsonLine(String line) {
+        Map<String, String> fields = new HashMap<>();
+        int[] position = {skipWhitespace(line, 0)};
+        expect(line, position, '{');
+        if (peek(line, position) == '}') {
+            return fields;
+        }
+        while (true) {
+            String key = readJsonString(line, position);
+            expect(line, position, ':');
+            String value;
+            if (peek(line, position) == '"') {
+                value = readJsonString(line, position);
+            } else {
+                int start = position[0];
+                while (position[0] < line.length() && ",} \t".indexOf(line.charAt(position[0])) < 0) {
+                    position[0]++;
+                }
+                value = line.substring(start, position[0]);
+                if (value.equals("null")) {
+                    value = null;
+                }
+            }
+            fields.put(key, value);
+
+            char next = peek(line, position);
+            position[0]++;
+            if (next == '}') {
+                return fields;
+            }
+            if (next != ',') {
+                throw new IllegalArgumentException("Expected ',' or '}' in JSON line: " + line);
+            }
+        }
+    }
+
+    private static String readJsonString(String line, int[] position) {
+        expect(line, position, '"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position[0] >= line.length()) {
+                throw new IllegalArgumentException("Unterminated string in JSON line: " + line);
+            }
+            char c = line.charAt(position[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = line.charAt(position[0]++);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    value.append((char) Integer.parseInt(line.substring(position[0], position[0] + 4), 16));
+                    position[0] += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+    }
+
+    private static void expect(String line, int[] position, char expected) {
+        if (peek(line, position) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at " + position[0] + " in JSON line: " + line);
+        }
+        position[0]++;
+    }
+
+    private static char peek(String line, int[] position) {
+        position[0] = skipWhitespace(line, position[0]);
+        if (position[0] >= line.length()) {
+            throw new IllegalArgumentException("Unexpected end of JSON line: " + line);
+        }
+        return line.charAt(position[0]);
+    }
+
+    private static int skipWhitespace(String line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * A slice of a catalog: rows whose zero-based index modulo count equals index
+     *
+     * @param index The shard this worker reads
+     * @param count The total number of shards
+     */
+    public record Shard(int index, int count) {
+        public static final Shard ALL = new Shard(0, 1);
+
+        public Shard {
+            if (count < 1 || index < 0 || index >= count) {
+                throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+            }
+        }
+
+        /**
+         * Parses a shard given as "index/count", e.g. "2/8"
+         *
+         * @param shard The shard specification
+         * @return The parsed shard
+         */
+        public static Shard parse(String shard) {
+            String[] parts = shard.trim().split("/");
+            return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+
+        /**
+         * Checks if a row belongs to this shard
+         *
+         * @param row The zero-based row index
+         * @return true if the row is in this shard
+         */
+        public boolean contains(long row) {
+            return row % count == index;
+        }
+    }
+
+    /**
+     * Lazy iterator over the rows of one shard of a catalog
+     */
+    public static class RowIterator implements Iterator<ProductRow>, Closeable {
+        private final BufferedReader reader;
+        private final boolean jsonLines;
+        private final Shard shard;
+        private Map<String, Integer> csvColumns;
+        private long rowIndex;
+        private ProductRow next;
+        private boolean closed;
+
+        private RowIterator(BufferedReader reader, boolean jsonLines, Shard shard) {
+            this.reader = reader;
+            this.jsonLines = jsonLines;
+            this.shard = shard;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            if (next == null && !closed) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public synchronized ProductRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ProductRow row = next;
+            next = null;
+            return row;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private ProductRow readNext() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (!jsonLines && csvColumns == null) {
+                        readCsvHeader(line);
+                        continue;
+                    }
+                    if (shard.contains(rowIndex++)) {
+                        return jsonLines ? fromJson(line) : fromCsv(line);
+                    }
+                }
+                close();
+                return null;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read product catalog", e);
+            }
+        }
+
+        private void readCsvHeader(String line) {
+            csvColumns = new HashMap<>();
+            List<String> header = parseCsvLine(line);
+            for (int i = 0; i < header.size(); i++) {
+                csvColumns.put(header.get(i).trim(), i);
+            }
+        }
+
+        private ProductRow fromCsv(String line) {
+            List<String> fields = parseCsvLine(line);
+            return new ProductRow(
+                    fields.get(csvColumns.get("title")),
+                    fields.get(csvColumns.get("price")),
+                    fields.get(csvColumns.get("id")),
+                    fields.get(csvColumns.get("title_link")));
+        }
+
+        private ProductRow fromJson(String line) {
+            Map<String, String> fields = parseJsonLine(line);
+            return new ProductRow(fields.get("title"), fields.get("price"), fields.get("id"), fields.get("title_link"));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.data;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductCatalogTest {
+
+    @Test
+    void testCsvRowsAreStreamedWithQuotedFields() {
+        List<ProductRow> rows = readAll("fixtures/products.csv", ProductCatalog.Shard.ALL);
+
+        Assert.assertEquals(rows.size(), 5);
+        Assert.assertEquals(rows.get(0), new ProductRow("Cover Story", "Rp 218,000", "67821264", "cover-story"));
+        Assert.assertEquals(rows.get(4).title(), "Don't Look Up: \"The Screenplay\"");
+    }
+
+    @Test
+    void testShardsPartitionTheCatalog() {
+        List<ProductRow> all = readAll("fixtures/products.csv", ProductCatalog.Shard.ALL);
+        List<ProductRow> first = readAll("fixtures/products.csv", ProductCatalog.Shard.parse("0/2"));
+        List<ProductRow> second = readAll("fixtures/products.csv", ProductCatalog.Shard.parse("1/2"));
+
+        Assert.assertEquals(first, List.of(all.get(0), all.get(2), all.get(4)));
+        Assert.assertEquals(second, List.of(all.get(1), all.get(3)));
+    }
+
+    @Test
+    void testJsonLinesCatalogFromFile() throws IOException {
+        Path catalog = Files.createTempFile("products", ".jsonl");
+        try {
+            Files.writeString(catalog, """
+                    {"title": "Cover Story", "price": "Rp 218,000", "id": 67821264, "title_link": "cover-story"}
+
+                    {"title": "Say \\"Hi\\"", "price": "Rp 1,000", "id": "42", "title_link": "say-hi"}
+                    """);
+
+            List<ProductRow> rows = readAll(catalog.toString(), ProductCatalog.Shard.ALL);
+
+            Assert.assertEquals(rows, List.of(
+                    new ProductRow("Cover Story", "Rp 218,000", "67821264", "cover-story"),
+                    new ProductRow("Say \"Hi\"", "Rp 1,000", "42", "say-hi")));
+        } finally {
+            Files.delete(catalog);
+        }
+    }
+
+    @Test
+    void testInvalidShardIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ProductCatalog.Shard.parse("2/2"));
+    }
+
+    private static List<ProductRow> readAll(String path, ProductCatalog.Shard shard) {
+        List<ProductRow> rows = new ArrayList<>();
+        try (ProductCatalog.RowIterator iterator = ProductCatalog.open(path, shard)) {
+            iterator.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+}
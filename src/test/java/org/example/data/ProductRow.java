@@ -0,0 +1,12 @@
+package org.example.data;
+
+/**
+ * A single product of a product catalog
+ *
+ * @param title The product title as shown on the product card
+ * @param price The displayed price, e.g. "Rp 218,000"
+ * @param id The numeric product ID used in the product link
+ * @param titleLink The slug of the product link, e.g. "cover-story"
+ */
+public record ProductRow(String title, String price, String id, String titleLink) {
+}
@@ -1,13 +1,13 @@
 package org.example.data;
 
-import org.example.utils.PropertyReader;
+import org.example.utils.Config;
 
 public class TestData {
-    public static final String USER_EMAIL = PropertyReader.getProperty("user.email");
-    public static final String USER_PASSWORD = PropertyReader.getProperty("user.password");
+    public static final String USER_EMAIL = Config.get().get("user.email");
+    public static final String USER_PASSWORD = Config.get().get("user.password");
 
-    public static final String PRODUCT_TITLE = PropertyReader.getProperty("book.title");
-    public static final String PRODUCT_PRICE = PropertyReader.getProperty("book.price");
-    public static final String PRODUCT_ID = PropertyReader.getProperty("book.id");
-    public static final String PRODUCT_TITLE_LINK = PropertyReader.getProperty("book.title_link");
+    public static final String PRODUCT_TITLE = Config.get().get("book.title");
+    public static final String PRODUCT_PRICE = Config.get().get("book.price");
+    public static final String PRODUCT_ID = Config.get().get("book.id");
+    public static final String PRODUCT_TITLE_LINK = Config.get().get("book.title_link");
 }
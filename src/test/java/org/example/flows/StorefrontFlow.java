@@ -0,0 +1,161 @@
+package org.example.flows;
+
+import org.example.data.TestData;
+import org.example.pages.AccountPage;
+import org.example.pages.CartSnapshot;
+import org.example.pages.HomePage;
+import org.example.pages.LoginPage;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The storefront journey (home, sign-in page, login, back to home, add to cart, verify cart) as named steps,
+ * shared by PeriplusTest, the load generator and the synthetic monitor so that they cannot drift apart.
+ * Each step creates its page objects from the driver and checks its own outcome, throwing an
+ * IllegalStateException when the storefront does not behave as expected. Steps do not rely on objects
+ * created by earlier steps, so a StepFlow can resume the journey from a checkpoint.
+ * The last two steps change the account's cart on the server; readOnlySteps() leaves them out for probes
+ * that must not touch a live account's cart.
+ * The caller decides how each step is timed and how failures are reported.
+ */
+public final class StorefrontFlow {
+    public static final List<String> STEPS = List.of(
+            "home", "sign in page", "login", "back to home", "add to cart", "verify cart");
+    private static final int READ_ONLY_STEP_COUNT = 4;
+
+    private StorefrontFlow() {
+    }
+
+    /**
+     * Runs one step of the flow on behalf of StorefrontFlow
+     */
+    @FunctionalInterface
+    public interface StepRunner {
+
+        /**
+         * Runs a step
+         *
+         * @param name The step name, one of STEPS
+         * @param action The page-object calls of the step; throws if the step fails
+         * @return true to continue with the next step, false to stop the flow
+         */
+        boolean step(String name, Runnable action);
+    }
+
+    /**
+     * A named step of the flow
+     *
+     * @param name The step name, one of STEPS
+     * @param action The page-object calls and checks of the step
+     * @param alreadyApplied For steps that change server state, checks whether the step's effect is already in
+     *                       place, so that a resumed flow does not apply it twice; null for steps that can be replayed
+     */
+    public record Step(String name, Runnable action, BooleanSupplier alreadyApplied) {
+
+        Step(String name, Runnable action) {
+            this(name, action, null);
+        }
+    }
+
+    /**
+     * Builds the steps of the flow for a browser session
+     *
+     * @param driver The WebDriver the steps run in
+     * @param emptyCartAtStart true if the account's cart is empty when the flow starts, so that the cart must
+     *                         end up holding exactly one item; false if earlier flows may have filled it
+     * @return The steps, in the order of STEPS
+     */
+    public static List<Step> steps(WebDriver driver, boolean emptyCartAtStart) {
+        return List.of(
+                new Step(STEPS.get(0), () -> {
+                    HomePage homePage = new HomePage(driver);
+                    homePage.navigateTo();
+
+                    check(homePage.isAtHomePage(), "Should be on the homepage with URL: " + homePage.url);
+                }),
+                new Step(STEPS.get(1), () -> {
+                    LoginPage loginPage = new HomePage(driver).clickSignIn();
+
+                    check(loginPage.isLoginFormDisplayed(), "Login form should be displayed");
+                    check(loginPage.isEmailFieldDisplayed(), "Email field should be visible on the login page");
+                    check(loginPage.isPasswordFieldDisplayed(), "Password field should be visible on the login page");
+                    check(loginPage.isLoginButtonDisplayed(), "Login button should be visible on the login page");
+                }),
+                new Step(STEPS.get(2), () -> {
+                    LoginPage loginPage = new LoginPage(driver);
+                    loginPage.performLogin(TestData.USER_EMAIL, TestData.USER_PASSWORD);
+
+                    check(loginPage.isLoginWarningAbsent(), "Login was rejected for " + TestData.USER_EMAIL);
+                }),
+                new Step(STEPS.get(3), () -> {
+                    HomePage homePage = new AccountPage(driver).navigateToHomePage();
+
+                    check(homePage.isAtHomePage(),
+                            "After navigating from account page, should be on homepage with URL: " + homePage.url);
+                }),
+                new Step(STEPS.get(4), () -> new HomePage(driver).addProductToCart(TestData.PRODUCT_TITLE),
+                        () -> new HomePage(driver).getCartSnapshot().containsProduct(
+                                TestData.PRODUCT_PRICE, TestData.PRODUCT_ID, TestData.PRODUCT_TITLE_LINK)),
+                new Step(STEPS.get(5), () -> {
+                    HomePage homePage = new HomePage(driver);
+                    homePage.openCartDropdown();
+                    CartSnapshot cart = homePage.getCartSnapshot();
+
+                    String count = cart.count();
+                    if (emptyCartAtStart) {
+                        check("1".equals(count), "Cart count should be 1 but was: " + count);
+                    } else {
+                        check(count != null && count.matches("[1-9]\\d*"), "Cart count should be at least 1 but was: " + count);
+                    }
+                    check(cart.dropdownDisplayed(), "Shopping cart dropdown should be displayed");
+                    check(cart.containsProduct(TestData.PRODUCT_PRICE, TestData.PRODUCT_ID, TestData.PRODUCT_TITLE_LINK),
+                            "Product should be in cart with correct price and ID, cart items: " + cart.items());
+                }));
+    }
+
+    /**
+     * Builds the steps of the flow that leave the cart alone: home, sign in page, login and back to home
+     *
+     * @param driver The WebDriver the steps run in
+     * @return The read-only steps, in the order of STEPS
+     */
+    public static List<Step> readOnlySteps(WebDriver driver) {
+        return steps(driver, false).subList(0, READ_ONLY_STEP_COUNT);
+    }
+
+    /**
+     * Runs the flow once in the given browser session, stopping as soon as a step returns false
+     * The session should start signed out; the account's cart may already hold items from earlier flows.
+     *
+     * @param driver The WebDriver to run the flow in
+     * @param runner Runs and times each step
+     * @return true if every step ran and the runner continued after each of them
+     */
+    public static boolean run(WebDriver driver, StepRunner runner) {
+        return run(steps(driver, false), runner);
+    }
+
+    /**
+     * Runs the given steps once, stopping as soon as a step returns false
+     *
+     * @param steps The steps to run, e.g. from steps() or readOnlySteps()
+     * @param runner Runs and times each step
+     * @return true if every step ran and the runner continued after each of them
+     */
+    public static boolean run(List<Step> steps, StepRunner runner) {
+        for (Step step : steps) {
+            if (!runner.step(step.name(), step.action())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.Config;
+import org.example.utils.StepFlow;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retries a failed StepFlow test from its last checkpoint instead of from the beginning.
+ * A test is retried up to "flow.max.retries" times, and only when at least one of its steps succeeded;
+ * the retry runs in a fresh pooled session into which the flow restores the checkpoint.
+ */
+public class CheckpointRetry implements IRetryAnalyzer {
+    private static final Logger logger = LogManager.getLogger(CheckpointRetry.class);
+    private static final int MAX_RETRIES = Config.get().getInt("flow.max.retries", 1);
+
+    private final Map<String, Integer> retries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the step flow of the test running on the current thread, identified by its method and parameters
+     *
+     * @return A new, empty flow that resumes from the checkpoint of a failed earlier attempt
+     */
+    public static StepFlow flow() {
+        return new StepFlow(flowId(Reporter.getCurrentTestResult()));
+    }
+
+    /**
+     * Decides whether a failed test is retried from its checkpoint
+     *
+     * @param result The result of the failed attempt
+     * @return true if the test should run again
+     */
+    @Override
+    public boolean retry(ITestResult result) {
+        String id = flowId(result);
+        int attempt = retries.merge(id, 1, Integer::sum);
+        if (attempt <= MAX_RETRIES && StepFlow.hasCheckpoint(id)) {
+            logger.info("Retrying {} from its last checkpoint (retry {} of {})", id, attempt, MAX_RETRIES);
+            return true;
+        }
+        StepFlow.discard(id);
+        return false;
+    }
+
+    private static String flowId(ITestResult result) {
+        return result.getMethod().getQualifiedName() + Arrays.toString(result.getParameters());
+    }
+}
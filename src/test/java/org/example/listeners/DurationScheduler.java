@@ -0,0 +1,173 @@
+package org.example.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.data.ProductCatalog;
+import org.example.utils.Config;
+import org.example.utils.DurationHistory;
+import org.example.utils.LatencyHistogram;
+import org.example.utils.LatencyRecorder;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orders test methods longest-first using their historical durations, so that slow tests start early
+ * instead of holding up the end of the run, and splits them into balanced shards with "shard=&lt;index&gt;/&lt;count&gt;".
+ * When "durations.shared" is true, i.e. every shard reads the same history file ("durations.file"), shards are
+ * assigned with the longest-processing-time rule: each test, longest first, goes to the shard with the least
+ * estimated work. Otherwise, or when that history is empty, tests are split by a stable hash of their name,
+ * which every process computes alike whatever history it has; the history then only orders the shard's tests.
+ * Test and step durations of the run are merged into the history file when the suite finishes.
+ */
+public class DurationScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(DurationScheduler.class);
+
+    private DurationHistory history;
+    private final Map<String, LongAdder> methodMillis = new ConcurrentHashMap<>();
+
+    /**
+     * Keeps the methods of this process's shard and orders them longest-first
+     * Methods without history are estimated at the median of the known durations.
+     *
+     * @param methods The methods TestNG is about to run
+     * @param context The test context
+     * @return The methods to run, in order
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        DurationHistory history = history();
+        List<Long> known = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            history.estimate(key(method)).ifPresent(known::add);
+        }
+        known.sort(null);
+        long fallback = known.isEmpty() ? 0 : known.get(known.size() / 2);
+
+        Config config = Config.get();
+        ProductCatalog.Shard shard = ProductCatalog.Shard.parse(config.get("shard", "0/1"));
+        ToLongFunction<IMethodInstance> estimate = method -> history.estimate(key(method)).orElse(fallback);
+        boolean balanced = shard.count() == 1 || (config.getBoolean("durations.shared", false) && !history.isEmpty());
+        if (!balanced) {
+            logger.info("Splitting shards by test name hash: set durations.shared=true with a history file shared by "
+                    + "all shards to balance them by duration");
+        }
+        List<IMethodInstance> scheduled = balanced
+                ? assignShard(methods, estimate, shard)
+                : assignShardByHash(methods, DurationScheduler::key, estimate, shard);
+
+        logger.info("Shard {}/{} runs {} of {} test methods, longest first", shard.index(), shard.count(),
+                scheduled.size(), methods.size());
+        return scheduled;
+    }
+
+    /**
+     * Sorts items longest-first and keeps those the longest-processing-time rule assigns to the given shard
+     *
+     * @param items The items to schedule
+     * @param estimate The estimated duration of an item
+     * @param shard The shard to keep
+     * @return The items of the shard, longest first
+     */
+    static <T> List<T> assignShard(List<T> items, ToLongFunction<T> estimate, ProductCatalog.Shard shard) {
+        // A stable sort keeps TestNG's order for ties, so every process computes the same assignment
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(estimate).reversed());
+
+        long[] load = new long[shard.count()];
+        List<T> assigned = new ArrayList<>();
+        for (T item : sorted) {
+            int target = 0;
+            for (int i = 1; i < load.length; i++) {
+                if (load[i] < load[target]) {
+                    target = i;
+                }
+            }
+            load[target] += Math.max(estimate.applyAsLong(item), 1);
+            if (target == shard.index()) {
+                assigned.add(item);
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Keeps the items whose name hashes to the given shard and sorts them longest-first
+     * String.hashCode is specified by the language, so every process computes the same split
+     *
+     * @param items The items to schedule
+     * @param name The stable name of an item
+     * @param estimate The estimated duration of an item, only used for ordering
+     * @param shard The shard to keep
+     * @return The items of the shard, longest first
+     */
+    static <T> List<T> assignShardByHash(List<T> items, Function<T, String> name, ToLongFunction<T> estimate,
+                                         ProductCatalog.Shard shard) {
+        List<T> assigned = new ArrayList<>();
+        for (T item : items) {
+            if (Math.floorMod(name.apply(item).hashCode(), shard.count()) == shard.index()) {
+                assigned.add(item);
+            }
+        }
+        assigned.sort(Comparator.comparingLong(estimate).reversed());
+        return assigned;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordDuration(result);
+    }
+
+    /**
+     * Merges the test and step durations of this run into the history file
+     *
+     * @param suite The suite that has finished
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        DurationHistory history = history();
+        methodMillis.forEach((method, millis) -> history.record(method, millis.sum()));
+        for (Map.Entry<String, LatencyHistogram.Summary> entry : LatencyRecorder.summarize().entrySet()) {
+            if (entry.getKey().startsWith("step:") && entry.getKey().indexOf('/') < 0) {
+                history.record(entry.getKey(), entry.getValue().mean() / 1_000_000);
+            }
+        }
+        history.save();
+    }
+
+    // Loaded on first use rather than when TestNG creates the listener, so that overrides made at suite start apply
+    private synchronized DurationHistory history() {
+        if (history == null) {
+            history = DurationHistory.load(Paths.get(Config.get().get("durations.file", "test-output/durations.properties")));
+        }
+        return history;
+    }
+
+    private void recordDuration(ITestResult result) {
+        methodMillis.computeIfAbsent(result.getMethod().getQualifiedName(), key -> new LongAdder())
+                .add(result.getEndMillis() - result.getStartMillis());
+    }
+
+    private static String key(IMethodInstance method) {
+        return method.getMethod().getQualifiedName();
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.listeners;
+
+import org.example.data.ProductCatalog;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class DurationSchedulerTest {
+    private static final Map<String, Long> ESTIMATES = Map.of("a", 10L, "b", 70L, "c", 40L, "d", 30L, "e", 20L);
+
+    @Test
+    void testSingleShardRunsEverythingLongestFirst() {
+        List<String> scheduled = DurationScheduler.assignShard(List.of("a", "b", "c", "d", "e"), ESTIMATES::get,
+                ProductCatalog.Shard.ALL);
+
+        Assert.assertEquals(scheduled, List.of("b", "c", "d", "e", "a"));
+    }
+
+    @Test
+    void testShardsAreBalancedAndDisjoint() {
+        List<String> tests = List.of("a", "b", "c", "d", "e");
+        List<String> first = DurationScheduler.assignShard(tests, ESTIMATES::get, ProductCatalog.Shard.parse("0/2"));
+        List<String> second = DurationScheduler.assignShard(tests, ESTIMATES::get, ProductCatalog.Shard.parse("1/2"));
+
+        Assert.assertEquals(first, List.of("b", "e"));
+        Assert.assertEquals(second, List.of("c", "d", "a"));
+
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        Assert.assertEqualsNoOrder(all, tests);
+    }
+
+    @Test
+    void testHashSplitIgnoresHistory() {
+        List<String> tests = List.of("a", "b", "c", "d", "e");
+        List<String> all = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            ProductCatalog.Shard shard = ProductCatalog.Shard.parse(index + "/3");
+            List<String> withHistory = DurationScheduler.assignShardByHash(tests, test -> test, ESTIMATES::get, shard);
+            List<String> withoutHistory = DurationScheduler.assignShardByHash(tests, test -> test, test -> 0L, shard);
+
+            Assert.assertEqualsNoOrder(withHistory, withoutHistory, "The split must not depend on the history");
+            all.addAll(withHistory);
+        }
+        Assert.assertEqualsNoOrder(all, tests);
+    }
+}
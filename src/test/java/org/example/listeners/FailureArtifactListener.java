@@ -0,0 +1,58 @@
+package org.example.listeners;
+
+import org.example.utils.ArtifactWriter;
+import org.example.utils.DriverManager;
+import org.example.utils.FailureArtifacts;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.time.Duration;
+
+/**
+ * Captures failure artifacts while the failed test still holds its browser session,
+ * and waits for the pending artifacts to be written when the suite finishes
+ */
+public class FailureArtifactListener implements IInvokedMethodListener, ISuiteListener {
+    private static final ThreadLocal<Long> testStart = ThreadLocal.withInitial(() -> 0L);
+
+    /**
+     * Records when the test starts, so that a capture skips console and network entries of earlier tests
+     * No WebDriver command is sent; the browser logs are only read if the test fails.
+     *
+     * @param method The method about to be invoked
+     * @param testResult The result of the invocation
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            testStart.set(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Captures the artifacts of a failed test before its session is returned to the pool
+     *
+     * @param method The method that was invoked
+     * @param testResult The result of the invocation
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && testResult.getStatus() == ITestResult.FAILURE && DriverManager.hasDriver()) {
+            FailureArtifacts.capture(DriverManager.getDriver(), testResult.getMethod().getQualifiedName(),
+                    testStart.get());
+        }
+    }
+
+    /**
+     * Waits up to a minute for pending artifacts to be written
+     *
+     * @param suite The suite that has finished
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        ArtifactWriter.awaitCompletion(Duration.ofMinutes(1));
+    }
+}
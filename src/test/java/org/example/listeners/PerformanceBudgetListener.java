@@ -0,0 +1,69 @@
+package org.example.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.Config;
+import org.example.utils.PerformanceBudget;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.List;
+
+/**
+ * Fails tests whose page loads exceeded a performance budget or regressed against the baseline,
+ * and saves a new baseline at the end of the suite when "perf.baseline.update" is true
+ */
+public class PerformanceBudgetListener implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(PerformanceBudgetListener.class);
+
+    /**
+     * Clears violations left on the thread by configuration methods or earlier tests
+     *
+     * @param method The method about to be invoked
+     * @param testResult The result of the invocation
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            PerformanceBudget.drainViolations();
+        }
+    }
+
+    /**
+     * Marks a passed test as failed when any of its page loads violated a budget
+     *
+     * @param method The method that was invoked
+     * @param testResult The result of the invocation
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+
+        List<String> violations = PerformanceBudget.drainViolations();
+        if (violations.isEmpty()) {
+            return;
+        }
+        violations.forEach(violation -> logger.warn("Performance budget violated: {}", violation));
+        if (testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError("Performance budget violated:\n  " + String.join("\n  ", violations)));
+        }
+    }
+
+    /**
+     * Saves the page timings of this run as the new baseline when "perf.baseline.update" is true
+     *
+     * @param suite The suite that has finished
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (Config.get().getBoolean("perf.baseline.update", false)) {
+            PerformanceBudget.updateBaseline();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.pages.HomePage;
+import org.example.utils.CartApiClient;
+import org.example.utils.Config;
+import org.example.utils.DriverFactory;
+import org.example.utils.LatencyRecorder;
+import org.example.utils.LocalPeriplusServer;
+import org.example.utils.WebDriverPool;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Suite-level listener that sizes parallel execution to the machine it runs on,
+ * starts the local stand-in server when requested, and releases shared resources
+ * once the suite has finished
+ */
+public class SuiteListener implements IAlterSuiteListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(SuiteListener.class);
+
+    private LocalPeriplusServer localServer;
+
+    /**
+     * Sets the thread count and data provider thread count of every suite from the
+     * "test.threads" property, defaulting to the number of available processors
+     *
+     * @param suites The suites about to be run
+     */
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Config.get().testThreads();
+
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+            logger.info("Suite '{}' running with parallel={} and {} threads", suite.getName(), suite.getParallel(), threads);
+        }
+    }
+
+    /**
+     * Starts the local Periplus stand-in server when "local.server" is true
+     * and points "base.url" at it, installs the pool's cart reset when "pool.reset.cart" is true,
+     * then pre-warms "pool.prewarm" browser sessions on the homepage
+     *
+     * @param suite The suite about to start
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        Config config = Config.get();
+        if (config.localServer()) {
+            localServer = new LocalPeriplusServer(config.localServerPort(), config.get("user.email"), config.get("user.password"));
+            localServer.start();
+            Config.override("base.url", localServer.getBaseUrl());
+        }
+
+        if (config.getBoolean("pool.reset.cart", false)) {
+            WebDriverPool.getInstance().setCartReset(CartApiClient::clearCart);
+        }
+
+        int prewarm = Config.get().poolPrewarm();
+        if (prewarm > 0) {
+            WebDriverPool.getInstance().prewarm(prewarm, driver -> new HomePage(driver).navigateTo(),
+                    Config.get().poolPrewarmTimeout());
+        }
+    }
+
+    /**
+     * Quits all pooled browser sessions and the shared browser, reports the pool statistics, exports the
+     * latency histograms and stops the local stand-in server if it was started
+     *
+     * @param suite The suite that has finished
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        WebDriverPool.getInstance().shutdown();
+        DriverFactory.shutdown();
+        LatencyRecorder.export(Config.get().latencyReportDir());
+        if (localServer != null) {
+            localServer.stop();
+            localServer = null;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.example.load;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.data.TestData;
+import org.example.flows.StorefrontFlow;
+import org.example.utils.BrowserProfile;
+import org.example.utils.CartApiClient;
+import org.example.utils.Config;
+import org.example.utils.DriverFactory;
+import org.example.utils.LatencyHistogram;
+import org.example.utils.LatencyRecorder;
+import org.example.utils.LocalPeriplusServer;
+import org.example.utils.PerformanceBudget;
+import org.example.utils.WebDriverPool;
+import org.openqa.selenium.WebDriver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synthetic load generator that drives the StorefrontFlow (home, sign-in page, login, add to cart, verify)
+ * through the page objects with concurrent virtual users, so that the load script cannot drift
+ * from the UI tests. Each virtual user runs on its own virtual thread with its own headless browser
+ * session, repeating the flow until the run ends. Sessions come from a WebDriverPool sized to the
+ * number of users, and are returned to it after every flow, so the pool's reset clears cookies and
+ * storage and replaces broken or worn-out sessions. The pool also empties the user's cart on the server
+ * when "pool.reset.cart" is true, which is the default against the local stand-in server. Users start evenly over the ramp-up period and
+ * pause for the think time between steps.
+ * Step latencies are recorded as "load:&lt;step&gt;" and reported with their throughput and failures.
+ */
+public class LoadGenerator {
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+    private static final String METRIC_PREFIX = "load:";
+
+    private final int users;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final Duration thinkTime;
+    private final BrowserProfile profile;
+
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final LongAdder iterations = new LongAdder();
+    private volatile long deadlineNanos;
+
+    /**
+     * Constructor for LoadGenerator
+     *
+     * @param users The number of concurrent virtual users
+     * @param rampUp The time over which the users are started
+     * @param duration The length of the run, including the ramp-up
+     * @param thinkTime The pause of a user between two steps
+     * @param profile The browser profile the users' sessions are launched with
+     */
+    public LoadGenerator(int users, Duration rampUp, Duration duration, Duration thinkTime, BrowserProfile profile) {
+        this.users = users;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.thinkTime = thinkTime;
+        this.profile = profile;
+    }
+
+    /**
+     * Entry point
+     * Runs against the local stand-in server when "local.server" is true, and against "base.url" otherwise.
+     * The run is configured by "load.users", "load.ramp.up.seconds", "load.duration.seconds" and
+     * "load.think.time.millis", and the report is written to "load.report.dir".
+     * The browsers always run headless, whatever the active browser profile says.
+     *
+     * @param args Not used
+     */
+    public static void main(String[] args) {
+        Config config = Config.get();
+
+        LocalPeriplusServer server = null;
+        if (config.localServer()) {
+            server = new LocalPeriplusServer(config.localServerPort(), TestData.USER_EMAIL, TestData.USER_PASSWORD);
+            server.start();
+            Config.override("base.url", server.getBaseUrl());
+        }
+
+        try {
+            LoadGenerator generator = new LoadGenerator(
+                    config.getInt("load.users", 4),
+                    config.getSeconds("load.ramp.up.seconds", Duration.ofSeconds(10)),
+                    config.getSeconds("load.duration.seconds", Duration.ofSeconds(60)),
+                    config.getMillis("load.think.time.millis", Duration.ofMillis(1000)),
+                    DriverFactory.getProfile().withHeadless(true));
+            List<StepResult> results = generator.run();
+            writeReport(Paths.get(config.get("load.report.dir", "target/load")), results);
+        } finally {
+            DriverFactory.shutdown();
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    /**
+     * Starts the virtual users, waits until the run is over and summarizes every step
+     *
+     * @return One result per step of the flow, in flow order
+     */
+    public List<StepResult> run() {
+        logger.info("Starting load run against {} with {} users, {} s ramp-up, {} s duration and {} ms think time",
+                Config.get().baseUrl(), users, rampUp.toSeconds(), duration.toSeconds(), thinkTime.toMillis());
+        long start = System.nanoTime();
+        deadlineNanos = start + duration.toNanos();
+
+        Config config = Config.get();
+        WebDriverPool pool = new WebDriverPool(users, config.poolCheckoutTimeout(), config.poolMaxUses(), profile);
+        if (config.getBoolean("pool.reset.cart", config.localServer())) {
+            pool.setCartReset(CartApiClient::clearCart);
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                long startDelay = users > 1 ? rampUp.toNanos() * user / users : 0;
+                int userId = user;
+                executor.submit(() -> runUser(userId, startDelay, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        Map<String, LatencyHistogram.Summary> summaries = LatencyRecorder.summarize();
+        List<StepResult> results = new ArrayList<>();
+        for (String step : StorefrontFlow.STEPS) {
+            LatencyHistogram.Summary latency = summaries.getOrDefault(METRIC_PREFIX + step,
+                    new LatencyHistogram.Summary(0, 0, 0, 0, 0, 0));
+            results.add(new StepResult(step, latency, failures.getOrDefault(step, new LongAdder()).sum(),
+                    latency.count() / elapsedSeconds));
+        }
+
+        logger.info("Load run finished: {} flows completed in {} s ({} flows/s)", iterations.sum(),
+                Math.round(elapsedSeconds), String.format("%.2f", iterations.sum() / elapsedSeconds));
+        return results;
+    }
+
+    private void runUser(int userId, long startDelayNanos, WebDriverPool pool) {
+        Thread.currentThread().setName("vu-" + userId);
+        if (!sleep(startDelayNanos)) {
+            return;
+        }
+
+        try {
+            while (System.nanoTime() < deadlineNanos) {
+                WebDriver driver = pool.acquire();
+                try {
+                    if (StorefrontFlow.run(driver, this::step)) {
+                        iterations.increment();
+                    }
+                } finally {
+                    // Start the next flow signed out with an empty cart and empty storage
+                    pool.release(driver);
+                }
+                PerformanceBudget.drainViolations();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Virtual user {} stopped: {}", userId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Times one step and pauses for the think time afterwards
+     * Only successful steps are recorded as latency samples; failures are counted separately
+     *
+     * @return true if the step succeeded and the run is not over yet
+     */
+    private boolean step(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            failures.computeIfAbsent(name, key -> new LongAdder()).increment();
+            logger.warn("Step '{}' failed: {}", name, e.getMessage());
+            return false;
+        }
+        LatencyRecorder.record(METRIC_PREFIX + name, System.nanoTime() - start);
+        return sleep(thinkTime.toNanos()) && System.nanoTime() < deadlineNanos;
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Prints the step results and writes them as load.csv, next to the full latency export
+     *
+     * @param directory The directory to write the report to
+     * @param results The step results
+     */
+    static void writeReport(Path directory, List<StepResult> results) {
+        System.out.printf("%-14s %8s %8s %10s %10s %10s %10s %10s%n",
+                "Step", "Count", "Failed", "Per sec", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (StepResult result : results) {
+            LatencyHistogram.Summary latency = result.latency();
+            System.out.printf("%-14s %8d %8d %10.2f %10.1f %10.1f %10.1f %10.1f%n", result.step(), latency.count(),
+                    result.failures(), result.throughput(), millis(latency.p50()), millis(latency.p95()),
+                    millis(latency.p99()), millis(latency.max()));
+        }
+
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("load.csv"), StandardCharsets.UTF_8)) {
+                writer.write("step,count,failures,throughput_per_s,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+                writer.newLine();
+                for (StepResult result : results) {
+                    LatencyHistogram.Summary latency = result.latency();
+                    writer.write(String.format("\"%s\",%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", result.step(),
+                            latency.count(), result.failures(), result.throughput(), millis(latency.mean()),
+                            millis(latency.p50()), millis(latency.p95()), millis(latency.p99()), millis(latency.max())));
+                    writer.newLine();
+                }
+            }
+            logger.info("Wrote load report to {}", directory.resolve("load.csv").toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write load report: {}", e.getMessage());
+        }
+        LatencyRecorder.export(directory);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Outcome of one step of the flow over the whole run
+     *
+     * @param step The step name
+     * @param latency The latency of the successful executions
+     * @param failures How often the step failed
+     * @param throughput Successful executions per second
+     */
+    public record StepResult(String step, LatencyHistogram.Summary latency, long failures, double throughput) {
+    }
+}
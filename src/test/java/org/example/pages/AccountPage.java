@@ -1,5 +1,6 @@
 package org.example.pages;
 
+import org.example.utils.DriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -12,6 +13,13 @@ public class AccountPage extends BasePage {
     public final String accountUrlFragment = "/account/Your-Account";
     private final By logoLocator = By.cssSelector("div.logo.logo-new > a");
 
+    /**
+     * Constructor for AccountPage that uses the WebDriver bound to the current thread
+     */
+    public AccountPage() {
+        this(DriverManager.getDriver());
+    }
+
     /**
      * Constructor for AccountPage
      *
@@ -19,7 +27,16 @@ public class AccountPage extends BasePage {
      */
     public AccountPage(WebDriver driver) {
         super(driver);
-        waitForElementVisible(logoLocator);
+    }
+
+    @Override
+    protected String readyUrlPattern() {
+        return accountUrlFragment;
+    }
+
+    @Override
+    protected By readyLocator() {
+        return logoLocator;
     }
 
     /**
@@ -33,14 +50,19 @@ public class AccountPage extends BasePage {
 
     /**
      * Navigates from the account page to the homepage by clicking the site logo
+     * Waits until the homepage is ready, then captures the page timing
      *
      * @return A new HomePage object representing the homepage after navigation
      */
     public HomePage navigateToHomePage() {
+        ensureReady();
         WebElement logoAnchor = driver.findElement(logoLocator);
         logoAnchor.click();
         logger.info("Clicked on logo to navigate to homepage");
 
-        return new HomePage(driver);
+        HomePage homePage = new HomePage(driver);
+        homePage.ensureReady();
+        capturePageTiming("HomePage");
+        return homePage;
     }
 }
@@ -2,15 +2,26 @@ package org.example.pages;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.utils.Config;
+import org.example.utils.DriverFactory;
+import org.example.utils.DriverManager;
+import org.example.utils.LatencyRecorder;
+import org.example.utils.ObserverWait;
+import org.example.utils.PageTiming;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Base page class that contains common methods and functionality
@@ -19,20 +30,147 @@ import java.time.Duration;
 public class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected ObserverWait observerWait;
     protected JavascriptExecutor js;
+    private boolean ready;
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
+    protected static final Duration SCROLL_SETTLE_TIMEOUT = Duration.ofSeconds(1);
+    protected static final Duration ABSENCE_TIMEOUT = Config.get().absenceTimeout();
+
+    private static final String READY_SCRIPT =
+            "var pattern = arguments[0], using = arguments[1], value = arguments[2];" +
+            "if (pattern && !new RegExp(pattern).test(window.location.href)) return false;" +
+            "if (document.readyState === 'loading') return false;" +
+            "if (!using) return true;" +
+            "var el = using === 'xpath'" +
+            "    ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue" +
+            "    : document.querySelector(value);" +
+            "return !!el && el.getClientRects().length > 0 && window.getComputedStyle(el).visibility !== 'hidden';";
+
+    private static final String ANY_VISIBLE_SCRIPT =
+            "var using = arguments[0], value = arguments[1], nodes = [];" +
+            "if (using === 'xpath') {" +
+            "  var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  for (var i = 0; i < result.snapshotLength; i++) nodes.push(result.snapshotItem(i));" +
+            "} else {" +
+            "  nodes = document.querySelectorAll(value);" +
+            "}" +
+            "for (var j = 0; j < nodes.length; j++) {" +
+            "  if (nodes[j].getClientRects().length > 0 && window.getComputedStyle(nodes[j]).visibility !== 'hidden') return true;" +
+            "}" +
+            "return false;";
+
+    /**
+     * Constructor for BasePage that uses the WebDriver bound to the current thread
+     */
+    public BasePage() {
+        this(DriverManager.getDriver());
+    }
 
     /**
      * Constructor for BasePage that initializes WebDriver, WebDriverWait, and JavascriptExecutor
+     * The waits are shared by every page object of the session, and the event-driven ObserverWait
+     * is used for locator waits when "wait.engine" is set to "observer".
+     * The constructor does not touch the browser; readiness is checked on the first interaction.
      *
      * @param driver The WebDriver instance to use for this page
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        DriverManager.SessionWaits waits = DriverManager.getWaits(driver);
+        this.wait = waits.pollingWait();
+        this.observerWait = waits.observerWait();
         this.js = (JavascriptExecutor) driver;
     }
 
+    /**
+     * Gets the pattern the URL must match before the page counts as ready
+     *
+     * @return A JavaScript-compatible regular expression, or null to accept any URL
+     */
+    protected String readyUrlPattern() {
+        return null;
+    }
+
+    /**
+     * Gets the key element that must be visible before the page counts as ready
+     *
+     * @return The By locator of the key element, or null if the page has none
+     */
+    protected By readyLocator() {
+        return null;
+    }
+
+    /**
+     * Waits until the browser shows this page, unless that was already confirmed
+     * The URL pattern, document.readyState and the key element are checked together in one
+     * script per poll, so a chained navigation pays a single wait instead of one per condition
+     *
+     * @throws TimeoutException if the page is not ready within the timeout period
+     */
+    public void ensureReady() {
+        if (ready) {
+            return;
+        }
+        String urlPattern = readyUrlPattern();
+        By locator = readyLocator();
+        if (urlPattern == null && locator == null) {
+            ready = true;
+            return;
+        }
+
+        long start = System.nanoTime();
+        By.Remotable.Parameters parameters = locator == null ? null : ObserverWait.toScriptLocator(locator);
+        try {
+            if (locator == null || parameters != null) {
+                String using = parameters == null ? null : parameters.using();
+                Object value = parameters == null ? null : parameters.value();
+                wait.until(d -> Boolean.TRUE.equals(js.executeScript(READY_SCRIPT, urlPattern, using, value)));
+            } else {
+                wait.until(ExpectedConditions.and(
+                        d -> urlPattern == null || Pattern.compile(urlPattern).matcher(d.getCurrentUrl()).find(),
+                        d -> !"loading".equals(js.executeScript("return document.readyState")),
+                        ExpectedConditions.visibilityOfElementLocated(locator)));
+            }
+        } catch (TimeoutException e) {
+            throw new TimeoutException(getClass().getSimpleName() + " was not ready within "
+                    + Config.get().waitTimeout().toSeconds() + " s: URL pattern " + urlPattern + ", key element " + locator, e);
+        }
+        ready = true;
+
+        long elapsed = System.nanoTime() - start;
+        LatencyRecorder.record("wait:ensureReady", elapsed);
+        logger.info("{} ready after {} ms", getClass().getSimpleName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Navigates to a page and waits until it is ready
+     * The time until the page is usable is recorded as "pageload:&lt;profile&gt;" and "pageload:&lt;profile&gt;/&lt;page&gt;",
+     * so that browser profiles can be compared
+     *
+     * @param url The URL to open
+     */
+    protected void loadPage(String url) {
+        long start = System.nanoTime();
+        driver.navigate().to(url);
+        ready = false;
+        ensureReady();
+
+        long elapsed = System.nanoTime() - start;
+        String profile = DriverFactory.getProfile().name();
+        LatencyRecorder.record("pageload:" + profile, elapsed);
+        LatencyRecorder.record("pageload:" + profile + "/" + getClass().getSimpleName(), elapsed);
+    }
+
+    /**
+     * Captures the browser-side timing of the current document and checks it against the performance budgets
+     *
+     * @param page The name the metrics are reported under
+     */
+    protected void capturePageTiming(String page) {
+        PageTiming.capture(js, page);
+    }
+
     /**
      * Waits for an element to be visible in the DOM
      *
@@ -41,6 +179,10 @@ public class BasePage {
      * @throws org.openqa.selenium.TimeoutException if element is not visible within the timeout period
      */
     protected WebElement waitForElementVisible(By locator) {
+        ensureReady();
+        if (observerWait != null) {
+            return observerWait.untilVisible(locator);
+        }
         return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
@@ -63,6 +205,10 @@ public class BasePage {
      * @throws org.openqa.selenium.TimeoutException if element is not clickable within the timeout period
      */
     protected WebElement waitForElementClickable(By locator) {
+        ensureReady();
+        if (observerWait != null) {
+            return observerWait.untilClickable(locator);
+        }
         return wait.until(ExpectedConditions.elementToBeClickable(locator));
     }
 
@@ -96,7 +242,42 @@ public class BasePage {
      */
     protected void jsClick(WebElement element) {
         js.executeScript("arguments[0].click();", element);
-        logger.info("Clicked on element: {}", element);
+        logger.info("Clicked on element: {}", describe(element));
+    }
+
+    /**
+     * Scrolls an element to the center of the viewport and waits until the scroll has settled
+     * The element's bounding rectangle is compared across animation frames in a single script call,
+     * so the wait ends as soon as the element stops moving rather than after a fixed delay
+     *
+     * @param element The WebElement to scroll into view
+     * @return How long the browser waited for the element to settle
+     */
+    protected Duration scrollIntoViewAndSettle(WebElement element) {
+        Object elapsed = js.executeAsyncScript(
+                "var el = arguments[0], maxWait = arguments[1], done = arguments[arguments.length - 1];" +
+                "var start = performance.now(), last = null, stableFrames = 0, finished = false;" +
+                "function finish() { if (!finished) { finished = true; done(Math.round(performance.now() - start)); } }" +
+                "function frame() {" +
+                "  if (finished) return;" +
+                "  var r = el.getBoundingClientRect();" +
+                "  if (last && r.top === last.top && r.left === last.left && r.width === last.width && r.height === last.height) {" +
+                "    stableFrames++;" +
+                "  } else {" +
+                "    stableFrames = 0;" +
+                "  }" +
+                "  last = r;" +
+                "  if (stableFrames >= 2) { finish(); } else { requestAnimationFrame(frame); }" +
+                "}" +
+                "el.scrollIntoView({block: 'center'});" +
+                "setTimeout(finish, maxWait);" +
+                "requestAnimationFrame(frame);",
+                element, SCROLL_SETTLE_TIMEOUT.toMillis());
+
+        Duration waited = Duration.ofMillis(((Number) elapsed).longValue());
+        LatencyRecorder.record("wait:scrollIntoViewAndSettle", waited.toNanos());
+        logger.info("Scrolled element into view, settled after {} ms", waited.toMillis());
+        return waited;
     }
 
     /**
@@ -121,7 +302,7 @@ public class BasePage {
     protected void hoverOverElement(WebElement element) {
         Actions actions = new Actions(driver);
         actions.moveToElement(element).perform();
-        logger.info("Hover over element: {}", element);
+        logger.info("Hover over element: {}", describe(element));
     }
 
     /**
@@ -191,4 +372,83 @@ public class BasePage {
             return false;
         }
     }
+
+    /**
+     * Checks if an element is absent or hidden without paying the full wait timeout
+     * Uses the short absence timeout configured by "absence.timeout.millis"
+     *
+     * @param locator The By locator to find the element
+     * @return true if the element is not present or not displayed, false if it stays displayed
+     */
+    protected boolean isElementAbsent(By locator) {
+        return isElementAbsent(locator, ABSENCE_TIMEOUT);
+    }
+
+    /**
+     * Checks if an element is absent or hidden without paying the full wait timeout
+     * A single script call answers immediately when no matching element is displayed.
+     * Only an element that is currently displayed is given up to the timeout to disappear.
+     *
+     * @param locator The By locator to find the element
+     * @param timeout The maximum time to wait for a displayed element to disappear
+     * @return true if the element is not present or not displayed, false if it stays displayed
+     */
+    protected boolean isElementAbsent(By locator, Duration timeout) {
+        ensureReady();
+        try {
+            if (!isAnyVisible(locator)) {
+                logger.info("Element is absent: {}", locator);
+                return true;
+            }
+
+            new WebDriverWait(driver, timeout, Duration.ofMillis(100)).until(d -> !isAnyVisible(locator));
+            logger.info("Element disappeared: {}", locator);
+            return true;
+        } catch (TimeoutException e) {
+            logger.info("Element still displayed after {} ms: {}", timeout.toMillis(), locator);
+            return false;
+        }
+    }
+
+    /**
+     * Checks in one probe whether any element matching the locator is displayed right now
+     * Locators that cannot be evaluated in the page are checked through WebDriver with the implicit wait suspended
+     *
+     * @param locator The By locator to find the elements
+     * @return true if at least one matching element is displayed
+     */
+    protected boolean isAnyVisible(By locator) {
+        By.Remotable.Parameters parameters = ObserverWait.toScriptLocator(locator);
+        if (parameters != null) {
+            return Boolean.TRUE.equals(js.executeScript(ANY_VISIBLE_SCRIPT, parameters.using(), parameters.value()));
+        }
+
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return driver.findElements(locator).stream().anyMatch(WebElement::isDisplayed);
+        } finally {
+            driver.manage().timeouts().implicitlyWait(Config.get().implicitWait());
+        }
+    }
+
+    /**
+     * Describes an element for logging without touching the browser
+     * The description is only built if the log event is actually written, and decorated
+     * elements are unwrapped so that no WebDriver listener is involved
+     *
+     * @param element The WebElement to describe
+     * @return An object whose toString() describes the element
+     */
+    protected static Object describe(WebElement element) {
+        return new Object() {
+            @Override
+            public String toString() {
+                WebElement target = element;
+                while (target instanceof WrapsElement) {
+                    target = ((WrapsElement) target).getWrappedElement();
+                }
+                return String.valueOf(target);
+            }
+        };
+    }
 }
@@ -0,0 +1,72 @@
+package org.example.pages;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the cart widget read from the page in a single script call
+ *
+ * @param count The cart count shown next to the cart icon
+ * @param dropdownDisplayed Whether the cart dropdown is currently visible
+ * @param items The line items listed in the cart dropdown
+ */
+public record CartSnapshot(String count, boolean dropdownDisplayed, List<CartItem> items) {
+
+    /**
+     * Checks if the cart holds a product with the given price and ID/link
+     *
+     * @param productPrice The expected price of the product
+     * @param productId The expected ID of the product in the URL
+     * @param productTitleLink The expected title link of the product in the URL
+     * @return true if any line item matches, false otherwise
+     */
+    public boolean containsProduct(String productPrice, String productId, String productTitleLink) {
+        return items.stream().anyMatch(item -> item.matches(productPrice, productId, productTitleLink));
+    }
+
+    /**
+     * Builds a snapshot from the map returned by the cart snapshot script
+     *
+     * @param raw The script result
+     * @return The typed cart snapshot
+     */
+    @SuppressWarnings("unchecked")
+    static CartSnapshot fromScriptResult(Map<String, Object> raw) {
+        List<Map<String, Object>> rawItems = (List<Map<String, Object>>) raw.get("items");
+        List<CartItem> items = rawItems.stream()
+                .map(item -> new CartItem(
+                        (String) item.get("title"),
+                        (String) item.get("text"),
+                        (String) item.get("price"),
+                        (String) item.get("href"),
+                        (String) item.get("id")))
+                .toList();
+        return new CartSnapshot((String) raw.get("count"), Boolean.TRUE.equals(raw.get("displayed")), items);
+    }
+
+    /**
+     * A single line item in the cart dropdown
+     *
+     * @param title The product title shown in the cart
+     * @param text The full text of the line item
+     * @param price The price found in the line item text, or null if none
+     * @param href The product link of the line item
+     * @param id The numeric product ID taken from the link, or null if none
+     */
+    public record CartItem(String title, String text, String price, String href, String id) {
+
+        /**
+         * Checks if this line item has the given price and ID/link
+         *
+         * @param productPrice The expected price of the product
+         * @param productId The expected ID of the product in the URL
+         * @param productTitleLink The expected title link of the product in the URL
+         * @return true if the price matches and the link contains the ID or title link, false otherwise
+         */
+        public boolean matches(String productPrice, String productId, String productTitleLink) {
+            boolean priceMatch = text != null && text.contains(productPrice);
+            boolean idMatch = href != null && (href.contains(productId) || href.contains(productTitleLink));
+            return priceMatch && idMatch;
+        }
+    }
+}
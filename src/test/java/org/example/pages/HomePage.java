@@ -1,25 +1,61 @@
 package org.example.pages;
 
+import org.example.utils.Config;
+import org.example.utils.DriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Page object representing the Periplus homepage
  * Contains methods to interact with elements on the home page
  */
 public class HomePage extends BasePage {
-    public final String url = "https://www.periplus.com/";
+    public final String url = Config.get().baseUrl();
     private final By logoLocator = By.cssSelector(".logo.logo-new");
     private final By signInButtonLocator = By.xpath("//a[normalize-space()='Sign In']");
 
     private final By addToCartButtonLocator = By.cssSelector(".product-action .addtocart");
     private final By cartCountLocator = By.id("cart_total");
     private final By cartIconLocator = By.id("show-your-cart");
-    private final By shoppingItemLocator = By.className("shopping-item");
-    private final By shoppingListLocator = By.className("shopping-list");
+
+    private static final String CART_SNAPSHOT_SCRIPT =
+            "var count = document.getElementById('cart_total');" +
+            "var dropdown = document.querySelector('.shopping-item');" +
+            "var items = [];" +
+            "if (dropdown) {" +
+            "  dropdown.querySelectorAll('.shopping-list a.cart-img').forEach(function (link) {" +
+            "    var row = link.closest('li') || link.closest('.shopping-list');" +
+            "    var text = (row.innerText || row.textContent).trim();" +
+            "    var titleLink = row.querySelector('h4 a, a:not(.cart-img)');" +
+            "    var price = text.match(/Rp\\s?[\\d.,]+/);" +
+            "    var id = link.pathname.split('/').filter(function (s) { return /^\\d+$/.test(s); })[0];" +
+            "    items.push({" +
+            "      title: titleLink ? titleLink.textContent.trim() : null," +
+            "      text: text," +
+            "      price: price ? price[0] : null," +
+            "      href: link.href," +
+            "      id: id || null" +
+            "    });" +
+            "  });" +
+            "}" +
+            "var displayed = !!dropdown && dropdown.getClientRects().length > 0" +
+            "    && window.getComputedStyle(dropdown).visibility !== 'hidden';" +
+            "return {count: count ? count.textContent.trim() : null, displayed: displayed, items: items};";
+
+    private ProductIndex productIndex;
+
+    /**
+     * Constructor for HomePage that uses the WebDriver bound to the current thread
+     */
+    public HomePage() {
+        this(DriverManager.getDriver());
+    }
 
     /**
      * Constructor for HomePage
@@ -30,13 +66,29 @@ public class HomePage extends BasePage {
         super(driver);
     }
 
+    /**
+     * The homepage is ready at the site root once the logo is visible
+     * Only the root counts, since every other page URL also starts with the base URL
+     */
+    @Override
+    protected String readyUrlPattern() {
+        String root = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        return "^" + root.replaceAll("[\\\\^$.|?*+()\\[\\]{}/]", "\\\\$0") + "(/|/index\\.php)?([?#].*)?$";
+    }
+
+    @Override
+    protected By readyLocator() {
+        return logoLocator;
+    }
+
     /**
      * Navigates to the Periplus homepage
-     * Waits for the logo to be visible before proceeding
+     * Waits until the page is ready before proceeding, then captures the page timing
      */
     public void navigateTo() {
-        driver.navigate().to(url);
-        waitForElementVisible(logoLocator);
+        productIndex = null;
+        loadPage(url);
+        capturePageTiming("HomePage");
         logger.info("Navigated to Periplus homepage");
     }
 
@@ -51,13 +103,27 @@ public class HomePage extends BasePage {
 
     /**
      * Clicks on the sign-in button to navigate to the login page
+     * Waits until the login page is ready, then captures the page timing
      *
      * @return A new LoginPage object representing the page after clicking sign in
      */
     public LoginPage clickSignIn() {
         click(signInButtonLocator);
         logger.info("Clicked on Sign In button");
-        return new LoginPage(driver);
+
+        LoginPage loginPage = new LoginPage(driver);
+        loginPage.ensureReady();
+        capturePageTiming("LoginPage");
+        return loginPage;
+    }
+
+    /**
+     * Checks if a user is signed in, i.e. the Sign In link is not shown
+     *
+     * @return true if the Sign In link is absent, false otherwise
+     */
+    public boolean isSignedIn() {
+        return isElementAbsent(signInButtonLocator);
     }
 
     /**
@@ -68,10 +134,60 @@ public class HomePage extends BasePage {
      * @throws org.openqa.selenium.TimeoutException if the product is not found within the timeout period
      */
     public WebElement findProduct(String productTitle) {
-        By productLocator = By.xpath("//h3/a[contains(text(), '" + productTitle + "')]/ancestor::div[@class='single-product']");
-        WebElement product = waitForElementVisible(productLocator);
-        logger.info("Found product: {}", productTitle);
-        return product;
+        return findProduct("title '" + productTitle + "'", index -> index.findByTitle(productTitle));
+    }
+
+    /**
+     * Finds a product on the page by the numeric ID in its link
+     *
+     * @param productId The ID of the product to find
+     * @return The WebElement representing the product
+     * @throws org.openqa.selenium.TimeoutException if the product is not found within the timeout period
+     */
+    public WebElement findProductById(String productId) {
+        return findProduct("ID " + productId, index -> index.findById(productId));
+    }
+
+    /**
+     * Finds a product on the page by the slug of its link
+     *
+     * @param productTitleLink The link slug of the product to find, e.g. "cover-story"
+     * @return The WebElement representing the product
+     * @throws org.openqa.selenium.TimeoutException if the product is not found within the timeout period
+     */
+    public WebElement findProductBySlug(String productTitleLink) {
+        return findProduct("slug " + productTitleLink, index -> index.findBySlug(productTitleLink));
+    }
+
+    /**
+     * Gets the product index of the current page, building it on first use
+     * The index is cached until this page object navigates again
+     *
+     * @return The product index of the current page
+     */
+    public ProductIndex getProductIndex() {
+        if (productIndex == null) {
+            ensureReady();
+            productIndex = ProductIndex.build(js);
+            logger.info("Indexed {} products on the page", productIndex.size());
+        }
+        return productIndex;
+    }
+
+    /**
+     * Looks a product up in the cached index, rebuilding the index until the product
+     * appears or the wait times out
+     */
+    private WebElement findProduct(String description, Function<ProductIndex, Optional<ProductIndex.Product>> lookup) {
+        ProductIndex.Product product = lookup.apply(getProductIndex()).orElse(null);
+        if (product == null) {
+            product = wait.until(d -> {
+                productIndex = ProductIndex.build(js);
+                return lookup.apply(productIndex).orElse(null);
+            });
+        }
+        logger.info("Found product with {}", description);
+        return product.element();
     }
 
     /**
@@ -80,25 +196,40 @@ public class HomePage extends BasePage {
      * @param productTitle The title of the product to add to the cart
      */
     public void addProductToCart(String productTitle) {
-        WebElement product = findProduct(productTitle);
+        addToCart(findProduct(productTitle));
+        logger.info("Added product to cart: {}", productTitle);
+    }
 
-        js.executeScript("arguments[0].scrollIntoView({block: 'center'});", product);
+    /**
+     * Adds a product to the cart, locating it by the numeric ID in its link
+     *
+     * @param productId The ID of the product to add to the cart
+     */
+    public void addProductToCartById(String productId) {
+        addToCart(findProductById(productId));
+        logger.info("Added product with ID {} to cart", productId);
+    }
 
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    /**
+     * Hovers over a product card, clicks its add-to-cart button and waits for the cart count to go up
+     * The count may rise by more than one when other sessions of the same signed-in user add products meanwhile
+     */
+    private void addToCart(WebElement product) {
+        // Read through the snapshot script so a hidden cart badge does not stall the wait
+        String currentCount = getCartSnapshot().count();
+        int expectedCount = (currentCount != null && currentCount.matches("\\d+") ? Integer.parseInt(currentCount) : 0) + 1;
 
+        scrollIntoViewAndSettle(product);
         hoverOverElement(product);
 
         WebElement addToCartButton = product.findElement(addToCartButtonLocator);
         wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
 
         new Actions(driver).moveToElement(addToCartButton).click().perform();
-        wait.until(ExpectedConditions.textToBe(cartCountLocator, "1"));
-
-        logger.info("Added product to cart: {}", productTitle);
+        wait.until(d -> {
+            String count = d.findElement(cartCountLocator).getText().trim();
+            return count.matches("\\d+") && Integer.parseInt(count) >= expectedCount;
+        });
     }
 
     /**
@@ -120,13 +251,27 @@ public class HomePage extends BasePage {
     }
 
     /**
-     * Checks if the cart dropdown is displayed
+     * Opens the cart dropdown and checks if it is displayed
+     * The check is read from the cart snapshot, in the same round-trip as the cart contents
      *
      * @return true if the cart dropdown is displayed, false otherwise
      */
     public boolean isCartDropdownDisplayed() {
         openCartDropdown();
-        return isElementDisplayed(shoppingItemLocator);
+        return getCartSnapshot().dropdownDisplayed();
+    }
+
+    /**
+     * Reads the cart count and every cart line item in a single WebDriver round-trip
+     *
+     * @return A snapshot of the cart widget
+     */
+    @SuppressWarnings("unchecked")
+    public CartSnapshot getCartSnapshot() {
+        ensureReady();
+        CartSnapshot snapshot = CartSnapshot.fromScriptResult((Map<String, Object>) js.executeScript(CART_SNAPSHOT_SCRIPT));
+        logger.info("Cart snapshot: count {}, {} items", snapshot.count(), snapshot.items().size());
+        return snapshot;
     }
 
     /**
@@ -138,20 +283,8 @@ public class HomePage extends BasePage {
      * @return true if the product is in the cart with matching price and ID/link, false otherwise
      */
     public boolean isProductInCart(String productPrice, String productId, String productTitleLink) {
-        openCartDropdown();
-
-        WebElement shoppingItem = waitForElementVisible(shoppingItemLocator);
-        WebElement shoppingList = shoppingItem.findElement(shoppingListLocator);
-        String cartItem = shoppingList.getText();
-
-        WebElement productLink = shoppingList.findElement(By.cssSelector("a.cart-img"));
-        String hrefAttribute = productLink.getAttribute("href");
-
-        boolean priceMatch = cartItem.contains(productPrice);
-        boolean idMatch = hrefAttribute.contains(productId) || hrefAttribute.contains(productTitleLink);
-
-        logger.info("Price match: {}, ID match: {}", priceMatch, idMatch);
-
-        return priceMatch && idMatch;
+        boolean inCart = getCartSnapshot().containsProduct(productPrice, productId, productTitleLink);
+        logger.info("Product with price {} and ID {} in cart: {}", productPrice, productId, inCart);
+        return inCart;
     }
 }
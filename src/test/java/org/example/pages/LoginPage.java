@@ -1,5 +1,6 @@
 package org.example.pages;
 
+import org.example.utils.DriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -13,6 +14,15 @@ public class LoginPage extends BasePage {
     private final By emailFieldLocator = By.xpath("//input[@name='email']");
     private final By passwordFieldLocator = By.xpath("//input[@id='ps']");
     private final By loginButtonLocator = By.xpath("//input[@id='button-login']");
+    private final By loginWarningLocator = By.cssSelector(".warning");
+    private boolean loginSubmitted;
+
+    /**
+     * Constructor for LoginPage that uses the WebDriver bound to the current thread
+     */
+    public LoginPage() {
+        this(DriverManager.getDriver());
+    }
 
     /**
      * Constructor for LoginPage
@@ -23,6 +33,16 @@ public class LoginPage extends BasePage {
         super(driver);
     }
 
+    @Override
+    protected String readyUrlPattern() {
+        return loginUrlFragment;
+    }
+
+    @Override
+    protected By readyLocator() {
+        return loginFormLocator;
+    }
+
     /**
      * Checks if the browser is currently on the login page
      *
@@ -78,6 +98,7 @@ public class LoginPage extends BasePage {
         type(emailFieldLocator, email);
         type(passwordFieldLocator, password);
         click(loginButtonLocator);
+        loginSubmitted = true;
         logger.info("Performed login with: {}", email);
     }
 
@@ -87,6 +108,22 @@ public class LoginPage extends BasePage {
      * @return true if warning message is displayed, false otherwise
      */
     public boolean isLoginWarningDisplayed() {
-        return isElementDisplayed(By.cssSelector(".warning"));
+        return isElementDisplayed(loginWarningLocator);
+    }
+
+    /**
+     * Checks that no login warning message is displayed
+     * After performLogin() it first waits for the server's answer, i.e. until the browser has left the
+     * login page or the warning is shown, so that a rejected login is not reported before it renders.
+     * Returns quickly when the warning is missing instead of waiting for it to appear.
+     *
+     * @return true if no warning message is displayed, false otherwise
+     */
+    public boolean isLoginWarningAbsent() {
+        if (loginSubmitted) {
+            wait.until(d -> !d.getCurrentUrl().contains(loginUrlFragment) || isAnyVisible(loginWarningLocator));
+            loginSubmitted = false;
+        }
+        return isElementAbsent(loginWarningLocator);
     }
 }
@@ -0,0 +1,135 @@
+package org.example.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Index of the product cards on a page, built with a single script call.
+ * Products can be looked up by title, product ID or link slug without further DOM scans.
+ * An index describes one page load and must be rebuilt after navigation.
+ */
+public class ProductIndex {
+    private static final String BUILD_SCRIPT =
+            "var products = [];" +
+            "document.querySelectorAll('div.single-product').forEach(function (card) {" +
+            "  var link = card.querySelector('h3 a');" +
+            "  if (!link) return;" +
+            "  var segments = link.pathname.split('/').filter(function (s) { return s.length > 0; });" +
+            "  var id = segments.filter(function (s) { return /^\\d+$/.test(s); })[0];" +
+            "  products.push({" +
+            "    element: card," +
+            "    title: link.textContent.trim()," +
+            "    href: link.href," +
+            "    id: id || null," +
+            "    slug: segments.length > 0 ? segments[segments.length - 1] : null" +
+            "  });" +
+            "});" +
+            "return products;";
+
+    private final List<Product> products;
+    private final Map<String, Product> byTitle = new HashMap<>();
+    private final Map<String, Product> byId = new HashMap<>();
+    private final Map<String, Product> bySlug = new HashMap<>();
+
+    private ProductIndex(List<Product> products) {
+        this.products = products;
+        for (Product product : products) {
+            byTitle.putIfAbsent(normalize(product.title()), product);
+            if (product.id() != null) {
+                byId.putIfAbsent(product.id(), product);
+            }
+            if (product.slug() != null) {
+                bySlug.putIfAbsent(product.slug(), product);
+            }
+        }
+    }
+
+    /**
+     * Builds an index of every product card currently in the page
+     *
+     * @param js The JavascriptExecutor of the page to index
+     * @return The product index
+     */
+    @SuppressWarnings("unchecked")
+    public static ProductIndex build(JavascriptExecutor js) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) js.executeScript(BUILD_SCRIPT);
+        List<Product> products = raw.stream()
+                .map(product -> new Product(
+                        (String) product.get("title"),
+                        (String) product.get("href"),
+                        (String) product.get("id"),
+                        (String) product.get("slug"),
+                        (WebElement) product.get("element")))
+                .toList();
+        return new ProductIndex(products);
+    }
+
+    /**
+     * Finds a product by its title
+     * An exact (case-insensitive) match is preferred, otherwise the first title containing the text is used
+     *
+     * @param title The title of the product
+     * @return The matching product, or empty if none
+     */
+    public Optional<Product> findByTitle(String title) {
+        String key = normalize(title);
+        Product product = byTitle.get(key);
+        if (product != null) {
+            return Optional.of(product);
+        }
+        return products.stream()
+                .filter(candidate -> normalize(candidate.title()).contains(key))
+                .findFirst();
+    }
+
+    /**
+     * Finds a product by the numeric ID in its link
+     *
+     * @param id The product ID
+     * @return The matching product, or empty if none
+     */
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Finds a product by the last path segment of its link
+     *
+     * @param slug The link slug, e.g. "cover-story"
+     * @return The matching product, or empty if none
+     */
+    public Optional<Product> findBySlug(String slug) {
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    /**
+     * Gets the number of indexed products
+     *
+     * @return The number of product cards found in the page
+     */
+    public int size() {
+        return products.size();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A product card found in the page
+     *
+     * @param title The product title
+     * @param href The product link
+     * @param id The numeric product ID taken from the link, or null if none
+     * @param slug The last path segment of the link, or null if none
+     * @param element The product card element
+     */
+    public record Product(String title, String href, String id, String slug, WebElement element) {
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes diagnostic artifacts to disk on a small pool of background threads.
+ * The queue is bounded ("artifacts.queue.capacity"); when it is full the submitting test thread writes the
+ * artifact itself, which slows down a burst of failures instead of piling up memory.
+ * The writer threads are never shut down; they time out when idle, so the writer stays usable across suites.
+ */
+public class ArtifactWriter {
+    private static final Logger logger = LogManager.getLogger(ArtifactWriter.class);
+    private static final int THREADS = Config.get().getInt("artifacts.writer.threads", 2);
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final Object drained = new Object();
+    private static int pending;
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS,
+            30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Config.get().getInt("artifacts.queue.capacity", 16)),
+            task -> {
+                Thread thread = new Thread(task, "artifact-writer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private ArtifactWriter() {
+    }
+
+    /**
+     * Writes binary content as is, e.g. an already compressed screenshot
+     *
+     * @param file The file to write
+     * @param content The content
+     */
+    public static void write(Path file, byte[] content) {
+        submit(() -> writeFile(file, content, false));
+    }
+
+    /**
+     * Builds text content in the background and writes it gzip-compressed
+     *
+     * @param file The file to write, normally ending in ".gz"
+     * @param content Produces the text; runs on the writer thread, so it may do expensive formatting
+     */
+    public static void writeCompressed(Path file, Supplier<String> content) {
+        submit(() -> writeFile(file, content.get().getBytes(StandardCharsets.UTF_8), true));
+    }
+
+    /**
+     * Waits for every artifact submitted so far to be written
+     * The writer keeps accepting artifacts afterwards.
+     *
+     * @param timeout How long to wait
+     */
+    public static void awaitCompletion(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (drained) {
+            try {
+                while (pending > 0) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        logger.warn("{} artifacts were still being written after {} s", pending, timeout.toSeconds());
+                        return;
+                    }
+                    drained.wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void submit(Runnable task) {
+        synchronized (drained) {
+            pending++;
+        }
+        executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                synchronized (drained) {
+                    if (--pending == 0) {
+                        drained.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    private static void writeFile(Path file, byte[] content, boolean compress) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream output = compress
+                    ? new GZIPOutputStream(Files.newOutputStream(file))
+                    : Files.newOutputStream(file)) {
+                output.write(content);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write artifact {}: {}", file, e.getMessage());
+        }
+    }
+}
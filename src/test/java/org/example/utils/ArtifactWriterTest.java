@@ -0,0 +1,26 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+public class ArtifactWriterTest {
+
+    @Test
+    void testWriterKeepsAcceptingArtifactsAfterAwaitingCompletion() throws IOException {
+        Path directory = Files.createTempDirectory("artifacts");
+
+        ArtifactWriter.write(directory.resolve("first.txt"), new byte[]{1});
+        ArtifactWriter.awaitCompletion(Duration.ofSeconds(10));
+        Assert.assertTrue(Files.exists(directory.resolve("first.txt")), "First artifact should be written");
+
+        ArtifactWriter.write(directory.resolve("second.txt"), new byte[]{2});
+        ArtifactWriter.awaitCompletion(Duration.ofSeconds(10));
+        Assert.assertTrue(Files.exists(directory.resolve("second.txt")),
+                "Artifacts submitted after a drain should still be written");
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs many isolated sessions inside a single Chrome process.
+ * One host browser is launched on first use; every session gets its own browser context
+ * (created with the CDP Target.createBrowserContext command, the same mechanism as an incognito window),
+ * so cookies, storage and cache are not shared between sessions. There is only one ChromeDriver and one
+ * chromedriver process: each context is driven through the host driver's connection by a view that switches
+ * the host to the context's tab before every command, which makes chromedriver attach to that target.
+ * Quitting the view disposes the context instead of the host.
+ * <p>
+ * Because all contexts share the host's connection, every command runs while holding the factory's monitor.
+ * Commands from different sessions are therefore serialised: a long page load or async script in one context
+ * blocks the others until it returns. Session-wide settings, such as the implicit wait and the browser logs,
+ * are also shared by all contexts.
+ */
+public class BrowserContextFactory {
+    private static final Logger logger = LogManager.getLogger(BrowserContextFactory.class);
+    private static final BrowserContextFactory instance = new BrowserContextFactory();
+    // Calls that do not touch the current tab, so they can run after the context's tab was closed
+    private static final Set<String> WINDOWLESS_METHODS = Set.of("switchTo", "manage", "quit", "getWindowHandles",
+            "timeouts", "window", "logs");
+
+    private ChromeDriver host;
+    private String hostWindow;
+
+    private BrowserContextFactory() {
+    }
+
+    /**
+     * Gets the factory shared by the whole test run
+     *
+     * @return The shared BrowserContextFactory instance
+     */
+    public static BrowserContextFactory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Opens a new browser context with one blank tab in the host browser, launching the host on first use
+     *
+     * @param hostOptions The options used to launch the host browser if it is not running yet
+     * @return The new context and the WebDriver view driving its tab
+     */
+    public synchronized Context openContext(ChromeOptions hostOptions) {
+        ChromeDriver browser = ensureHost(hostOptions);
+        String contextId = (String) browser.executeCdpCommand("Target.createBrowserContext",
+                Map.of("disposeOnDetach", false)).get("browserContextId");
+        String targetId;
+        try {
+            targetId = (String) browser.executeCdpCommand("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+        } catch (WebDriverException e) {
+            disposeContext(contextId);
+            throw e;
+        }
+
+        logger.info("Opened browser context {} in the shared browser", contextId);
+        // ChromeDriver uses the DevTools target ID as the window handle
+        return new Context(contextId, targetId);
+    }
+
+    /**
+     * Quits the host browser, closing every context that is still open
+     */
+    public synchronized void shutdown() {
+        if (host != null) {
+            try {
+                host.quit();
+            } catch (WebDriverException e) {
+                logger.warn("Failed to quit the shared browser: {}", e.getMessage());
+            }
+            host = null;
+            hostWindow = null;
+            logger.info("Shared browser for browser contexts shut down");
+        }
+    }
+
+    private synchronized ChromeDriver ensureHost(ChromeOptions hostOptions) {
+        if (host == null) {
+            long start = System.nanoTime();
+            host = new ChromeDriver(hostOptions);
+            hostWindow = host.getWindowHandle();
+            logger.info("Launched shared browser for browser contexts in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }
+        return host;
+    }
+
+    private synchronized void disposeContext(String contextId) {
+        if (host == null) {
+            return;
+        }
+        try {
+            host.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            logger.info("Disposed browser context {}", contextId);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to dispose browser context {}: {}", contextId, e.getMessage());
+        }
+        // The host may have been on one of the disposed tabs
+        hostWindow = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized Set<String> getContextWindowHandles(String contextId) {
+        List<Map<String, Object>> targets = (List<Map<String, Object>>) host
+                .executeCdpCommand("Target.getTargets", Map.of()).get("targetInfos");
+        Set<String> handles = new LinkedHashSet<>();
+        for (Map<String, Object> target : targets) {
+            if ("page".equals(target.get("type")) && contextId.equals(target.get("browserContextId"))) {
+                handles.add((String) target.get("targetId"));
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * An isolated browser context and the WebDriver view driving it
+     * The view is a decorator of the host driver that keeps its own current window. getWindowHandles()
+     * only returns the context's own tabs, and quit() disposes the context.
+     */
+    public final class Context extends WebDriverDecorator<WebDriver> {
+        private final String contextId;
+        private final WebDriver driver;
+        private String currentWindow;
+
+        private Context(String contextId, String targetId) {
+            this.contextId = contextId;
+            this.currentWindow = targetId;
+            this.driver = decorate(host);
+        }
+
+        /**
+         * Gets the ID of the browser context
+         *
+         * @return The CDP browser context ID
+         */
+        public String getContextId() {
+            return contextId;
+        }
+
+        /**
+         * Gets the WebDriver view driving the context's tabs
+         *
+         * @return The undecorated view
+         */
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            synchronized (BrowserContextFactory.this) {
+                if (original instanceof WebDriver) {
+                    if (method.getName().equals("quit")) {
+                        disposeContext(contextId);
+                        currentWindow = null;
+                        return null;
+                    }
+                    if (method.getName().equals("getWindowHandles")) {
+                        return getContextWindowHandles(contextId);
+                    }
+                }
+
+                if (currentWindow == null) {
+                    if (!(original instanceof WebDriver.TargetLocator || original instanceof WebDriver.Timeouts)
+                            && !WINDOWLESS_METHODS.contains(method.getName())) {
+                        throw new NoSuchWindowException("The current tab of browser context " + contextId + " was closed");
+                    }
+                } else if (!currentWindow.equals(hostWindow)) {
+                    host.switchTo().window(currentWindow);
+                    hostWindow = currentWindow;
+                }
+
+                Object result = super.call(target, method, args);
+                if (original instanceof WebDriver.TargetLocator
+                        && (method.getName().equals("window") || method.getName().equals("newWindow"))) {
+                    currentWindow = host.getWindowHandle();
+                    hostWindow = currentWindow;
+                } else if (original instanceof WebDriver && method.getName().equals("close")) {
+                    currentWindow = null;
+                    hostWindow = null;
+                }
+                return result;
+            }
+        }
+    }
+}
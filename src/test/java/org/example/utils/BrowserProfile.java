@@ -0,0 +1,184 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named set of browser settings: headless mode, page-load strategy and URL patterns the browser must not fetch.
+ * The active profile is selected with "browser.profile" and configured with
+ * "browser.profile.&lt;name&gt;.headless", ".page.load.strategy" (normal, eager or none),
+ * ".block" (any of images, fonts, media, analytics, ads) and ".blocked.urls" (extra CDP URL patterns).
+ */
+public record BrowserProfile(String name, boolean headless, PageLoadStrategy pageLoadStrategy, List<String> blockedUrls) {
+    private static final Logger logger = LogManager.getLogger(BrowserProfile.class);
+
+    private static final Map<String, List<String>> BLOCKED_CATEGORIES = Map.of(
+            "images", List.of("*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.avif*", "*.svg*", "*.ico*", "*.bmp*"),
+            "fonts", List.of("*.woff*", "*.ttf*", "*.otf*", "*.eot*"),
+            "media", List.of("*.mp4*", "*.webm*", "*.mp3*", "*.ogg*", "*.wav*", "*.m4a*", "*.m3u8*"),
+            "analytics", List.of("*google-analytics.com*", "*googletagmanager.com*", "*hotjar.com*",
+                    "*clarity.ms*", "*connect.facebook.net*", "*segment.io*"),
+            "ads", List.of("*doubleclick.net*", "*googlesyndication.com*", "*googleadservices.com*",
+                    "*adservice.google.*", "*criteo.*", "*taboola.com*", "*outbrain.com*"));
+
+    public BrowserProfile {
+        blockedUrls = List.copyOf(blockedUrls);
+    }
+
+    /**
+     * Builds the profile selected by "browser.profile" from the configuration
+     *
+     * @param config The configuration to read
+     * @return The configured profile
+     * @throws IllegalArgumentException if the page-load strategy or a blocked category is unknown
+     */
+    public static BrowserProfile fromConfig(Config config) {
+        String name = config.get("browser.profile", "default");
+        String prefix = "browser.profile." + name + ".";
+
+        Builder builder = builder(name)
+                .headless(config.getBoolean(prefix + "headless", config.headless()))
+                .pageLoadStrategy(PageLoadStrategy.valueOf(
+                        config.get(prefix + "page.load.strategy", "normal").trim().toUpperCase(Locale.ROOT)));
+        config.getList(prefix + "block").forEach(builder::block);
+        config.getList(prefix + "blocked.urls").forEach(builder::blockUrl);
+        return builder.build();
+    }
+
+    /**
+     * Starts building a profile
+     *
+     * @param name The profile name, used to label its page-load timings
+     * @return A builder with a headed browser, the normal page-load strategy and nothing blocked
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Copies this profile with a different headless mode
+     *
+     * @param headless true to run headless
+     * @return The copied profile
+     */
+    public BrowserProfile withHeadless(boolean headless) {
+        return new BrowserProfile(name, headless, pageLoadStrategy, blockedUrls);
+    }
+
+    /**
+     * Creates the Chrome options for this profile
+     *
+     * @return The Chrome options
+     */
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (headless) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        return options;
+    }
+
+    /**
+     * Applies the settings that can only be made on a running session, i.e. URL blocking over CDP
+     * The rules stay in effect for the lifetime of the session.
+     *
+     * @param driver The new WebDriver session
+     */
+    public void applyTo(WebDriver driver) {
+        if (blockedUrls.isEmpty()) {
+            return;
+        }
+        if (!(driver instanceof HasCdp)) {
+            logger.warn("Browser profile '{}' cannot block URLs without CDP support", name);
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+    }
+
+    /**
+     * Builder for BrowserProfile
+     */
+    public static final class Builder {
+        private final String name;
+        private boolean headless;
+        private PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+        private final Set<String> blockedUrls = new LinkedHashSet<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Sets whether the browser runs without a window
+         *
+         * @param headless true to run headless
+         * @return This builder
+         */
+        public Builder headless(boolean headless) {
+            this.headless = headless;
+            return this;
+        }
+
+        /**
+         * Sets when navigation returns control to the test
+         *
+         * @param pageLoadStrategy NORMAL waits for every subresource, EAGER only for the DOM
+         * @return This builder
+         */
+        public Builder pageLoadStrategy(PageLoadStrategy pageLoadStrategy) {
+            this.pageLoadStrategy = pageLoadStrategy;
+            return this;
+        }
+
+        /**
+         * Blocks a category of requests
+         *
+         * @param category One of images, fonts, media, analytics or ads
+         * @return This builder
+         * @throws IllegalArgumentException if the category is unknown
+         */
+        public Builder block(String category) {
+            List<String> patterns = BLOCKED_CATEGORIES.get(category.trim().toLowerCase(Locale.ROOT));
+            if (patterns == null) {
+                throw new IllegalArgumentException("Unknown blocked resource category '" + category
+                        + "', expected one of " + BLOCKED_CATEGORIES.keySet());
+            }
+            blockedUrls.addAll(patterns);
+            return this;
+        }
+
+        /**
+         * Blocks requests matching a URL pattern
+         *
+         * @param pattern A CDP URL pattern, where '*' matches any characters
+         * @return This builder
+         */
+        public Builder blockUrl(String pattern) {
+            blockedUrls.add(pattern);
+            return this;
+        }
+
+        /**
+         * Builds the profile
+         *
+         * @return The browser profile
+         */
+        public BrowserProfile build() {
+            return new BrowserProfile(name, headless, pageLoadStrategy, new ArrayList<>(blockedUrls));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class BrowserProfileTest {
+
+    @Test
+    void testDefaultProfileLoadsEverything() {
+        BrowserProfile profile = BrowserProfile.fromConfig(Config.load(Map.of(), new Properties()));
+
+        Assert.assertEquals(profile.name(), "default");
+        Assert.assertEquals(profile.pageLoadStrategy(), PageLoadStrategy.NORMAL);
+        Assert.assertTrue(profile.blockedUrls().isEmpty());
+    }
+
+    @Test
+    void testLightweightProfileFromConfig() {
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("browser.profile", "lightweight");
+        systemProperties.setProperty("browser.profile.lightweight.blocked.urls", "*.example-cdn.com*");
+
+        BrowserProfile profile = BrowserProfile.fromConfig(Config.load(Map.of(), systemProperties));
+
+        Assert.assertTrue(profile.headless());
+        Assert.assertEquals(profile.pageLoadStrategy(), PageLoadStrategy.EAGER);
+        Assert.assertTrue(profile.blockedUrls().containsAll(List.of("*.png*", "*.woff*", "*doubleclick.net*")));
+        Assert.assertTrue(profile.blockedUrls().contains("*.example-cdn.com*"));
+        Assert.assertEquals(profile.toChromeOptions().getCapability("pageLoadStrategy"), PageLoadStrategy.EAGER);
+    }
+
+    @Test
+    void testUnknownCategoryIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> BrowserProfile.builder("broken").block("scripts"));
+    }
+
+    @Test
+    void testHeadlessCopyKeepsOtherSettings() {
+        BrowserProfile profile = BrowserProfile.builder("custom").pageLoadStrategy(PageLoadStrategy.EAGER).block("images").build();
+
+        BrowserProfile headless = profile.withHeadless(true);
+
+        Assert.assertTrue(headless.headless());
+        Assert.assertFalse(profile.headless(), "The original profile should be unchanged");
+        Assert.assertEquals(headless.pageLoadStrategy(), PageLoadStrategy.EAGER);
+        Assert.assertEquals(headless.blockedUrls(), profile.blockedUrls());
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP-level shortcut for setting up a cart without driving the UI.
+ * The client shares its cookies with a browser session: it can start from the browser's cookies,
+ * sign in and add products with plain form posts, and hand the resulting session cookies back to the
+ * browser, so that page objects only verify the outcome. The form endpoints are configurable through
+ * "api.login.path", "cart.add.path" and "cart.clear.path", all relative to the base URL.
+ * Each client owns an HttpClient with its own selector thread, so it must be closed after use.
+ */
+public class CartApiClient implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(CartApiClient.class);
+    private static final String CART_COUNT_HEADER = "X-Cart-Count";
+
+    private final URI baseUri;
+    private final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final HttpClient client;
+    private final Duration timeout;
+    private final String loginPath;
+    private final String cartAddPath;
+    private final String cartClearPath;
+
+    /**
+     * Constructor for CartApiClient against the configured base URL
+     */
+    public CartApiClient() {
+        this(Config.get().baseUrl());
+    }
+
+    /**
+     * Constructor for CartApiClient
+     *
+     * @param baseUrl The storefront URL, ending with a slash
+     */
+    public CartApiClient(String baseUrl) {
+        Config config = Config.get();
+        this.baseUri = URI.create(baseUrl);
+        this.timeout = config.waitTimeout();
+        this.loginPath = config.get("api.login.path", "account/Login");
+        this.cartAddPath = config.get("cart.add.path", "cart/add");
+        this.cartClearPath = config.get("cart.clear.path", "cart/clear");
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Creates a client that continues the browser session of the given driver
+     *
+     * @param driver The WebDriver whose cookies are copied
+     * @return A client sharing the browser's session
+     */
+    public static CartApiClient forDriver(WebDriver driver) {
+        CartApiClient client = new CartApiClient();
+        client.importCookies(driver);
+        return client;
+    }
+
+    /**
+     * Copies the cookies the browser holds for the current page into this client
+     *
+     * @param driver The WebDriver to copy cookies from
+     */
+    public void importCookies(WebDriver driver) {
+        for (Cookie cookie : driver.manage().getCookies()) {
+            HttpCookie httpCookie = new HttpCookie(cookie.getName(), cookie.getValue());
+            httpCookie.setPath(cookie.getPath());
+            httpCookie.setSecure(cookie.isSecure());
+            httpCookie.setHttpOnly(cookie.isHttpOnly());
+            httpCookie.setVersion(0);
+            cookies.getCookieStore().add(baseUri, httpCookie);
+        }
+        logger.info("Imported {} browser cookies", cookies.getCookieStore().getCookies().size());
+    }
+
+    /**
+     * Copies this client's cookies into the browser, so that its next page load continues the same session
+     * Uses a single CDP call where available; otherwise the browser must already be on the storefront's domain.
+     *
+     * @param driver The WebDriver to copy cookies to
+     */
+    public void exportCookies(WebDriver driver) {
+        List<Cookie> browserCookies = cookies.getCookieStore().get(baseUri).stream()
+                .map(cookie -> new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .domain(cookie.getDomain() != null ? cookie.getDomain() : baseUri.getHost())
+                        .path(cookie.getPath() != null ? cookie.getPath() : "/")
+                        .isSecure(cookie.getSecure())
+                        .isHttpOnly(cookie.isHttpOnly())
+                        .build())
+                .toList();
+
+        if (driver instanceof HasCdp) {
+            List<Map<String, Object>> cdpCookies = browserCookies.stream().map(SessionCache::toCdpCookie).toList();
+            ((HasCdp) driver).executeCdpCommand("Network.setCookies", Map.of("cookies", cdpCookies));
+        } else {
+            browserCookies.forEach(cookie -> driver.manage().addCookie(cookie));
+        }
+        logger.info("Exported {} cookies to the browser", browserCookies.size());
+    }
+
+    /**
+     * Signs in by posting the login form
+     *
+     * @param email The email address of the user
+     * @param password The password of the user
+     * @return true if the site redirected away from the login page, false otherwise
+     */
+    public boolean login(String email, String password) {
+        HttpResponse<String> response = postForm(loginPath, Map.of("email", email, "password", password));
+        String location = response.headers().firstValue("Location").orElse("");
+        boolean signedIn = response.statusCode() / 100 == 3 && !location.contains(loginPath);
+        logger.info("HTTP login as {}: {}", email, signedIn ? "signed in" : "rejected");
+        return signedIn;
+    }
+
+    /**
+     * Adds a product to the cart by posting the add-to-cart form
+     *
+     * @param productId The ID of the product to add
+     * @param quantity The number of copies to add
+     * @return The cart count reported by the site
+     * @throws IllegalStateException if the site rejects the request or does not report the cart count
+     */
+    public int addToCart(String productId, int quantity) {
+        HttpResponse<String> response = postForm(cartAddPath,
+                Map.of("product_id", productId, "qty", String.valueOf(quantity)));
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Adding product " + productId + " to cart failed with HTTP "
+                    + response.statusCode() + ": " + response.body());
+        }
+
+        int count = response.headers().firstValue(CART_COUNT_HEADER).map(Integer::parseInt)
+                .orElseThrow(() -> new IllegalStateException("Adding product " + productId + " to cart returned HTTP "
+                        + response.statusCode() + " without a " + CART_COUNT_HEADER + " header; is " + cartAddPath
+                        + " the cart endpoint of " + baseUri + "?"));
+        logger.info("Added {} x {} to cart over HTTP, cart count {}", quantity, productId, count);
+        return count;
+    }
+
+    /**
+     * Empties the cart by posting the clear-cart form
+     *
+     * @throws IllegalStateException if the site rejects the request
+     */
+    public void clearCart() {
+        HttpResponse<String> response = postForm(cartClearPath, Map.of());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Clearing the cart failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        logger.info("Cleared cart over HTTP");
+    }
+
+    /**
+     * Empties the cart of the browser session of the given driver, e.g. as the cart reset of a WebDriverPool
+     * The browser must still be on the storefront's domain, so that its session cookies can be read.
+     *
+     * @param driver The WebDriver whose session's cart is emptied
+     * @throws IllegalStateException if the site rejects the request
+     */
+    public static void clearCart(WebDriver driver) {
+        try (CartApiClient client = forDriver(driver)) {
+            client.clearCart();
+        }
+    }
+
+    /**
+     * Closes the underlying HttpClient and stops its selector thread
+     */
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private HttpResponse<String> postForm(String path, Map<String, String> fields) {
+        String body = fields.entrySet().stream()
+                .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("POST " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while posting to " + request.uri(), e);
+        } finally {
+            LatencyRecorder.record("http:POST /" + path, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class CartApiClientTest {
+    private LocalPeriplusServer server;
+
+    @BeforeClass
+    public void startServer() {
+        server = new LocalPeriplusServer(0, "api@example.com", "secret");
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void testLoginAcceptsValidCredentialsOnly() {
+        try (CartApiClient valid = new CartApiClient(server.getBaseUrl());
+             CartApiClient invalid = new CartApiClient(server.getBaseUrl())) {
+            Assert.assertTrue(valid.login("api@example.com", "secret"));
+            Assert.assertFalse(invalid.login("api@example.com", "wrong"));
+        }
+    }
+
+    @Test
+    void testCartIsKeptAcrossRequestsOfOneClient() {
+        try (CartApiClient client = new CartApiClient(server.getBaseUrl());
+             CartApiClient other = new CartApiClient(server.getBaseUrl())) {
+            Assert.assertEquals(client.addToCart("67821264", 1), 1);
+            Assert.assertEquals(client.addToCart("9781847941831", 2), 3);
+            Assert.assertEquals(other.addToCart("67821264", 1), 1,
+                    "A new client should start a new session");
+        }
+    }
+
+    @Test
+    void testClearedCartIsEmpty() {
+        try (CartApiClient client = new CartApiClient(server.getBaseUrl())) {
+            client.addToCart("67821264", 2);
+            client.clearCart();
+
+            Assert.assertEquals(client.addToCart("9781847941831", 1), 1, "Only the product added after clearing should be counted");
+        }
+    }
+
+    @Test
+    void testUnknownProductIsRejected() {
+        try (CartApiClient client = new CartApiClient(server.getBaseUrl())) {
+            Assert.assertThrows(IllegalStateException.class, () -> client.addToCart("0", 1));
+        }
+    }
+}
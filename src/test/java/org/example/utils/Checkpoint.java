@@ -0,0 +1,74 @@
+package org.example.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser state after a successful flow step: the current URL, the cookies and the local storage of the page.
+ * Restoring it in another session puts that session where the flow left off, with the same server-side session.
+ *
+ * @param url The URL of the page the step ended on
+ * @param cookies The cookies of the page
+ * @param localStorage The local storage entries of the page's origin
+ */
+public record Checkpoint(String url, List<Cookie> cookies, Map<String, String> localStorage) {
+    private static final String CAPTURE_SCRIPT =
+            "var storage = {};" +
+            "try {" +
+            "  for (var i = 0; i < localStorage.length; i++) {" +
+            "    var key = localStorage.key(i);" +
+            "    storage[key] = localStorage.getItem(key);" +
+            "  }" +
+            "} catch (e) {}" +
+            "return {url: location.href, storage: storage};";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var entries = arguments[0];" +
+            "Object.keys(entries).forEach(function (key) { localStorage.setItem(key, entries[key]); });";
+
+    public Checkpoint {
+        cookies = List.copyOf(cookies);
+        localStorage = Map.copyOf(localStorage);
+    }
+
+    /**
+     * Captures the state of a browser session
+     *
+     * @param driver The WebDriver of the session
+     * @return The captured checkpoint
+     */
+    @SuppressWarnings("unchecked")
+    public static Checkpoint capture(WebDriver driver) {
+        Map<String, Object> page = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        return new Checkpoint((String) page.get("url"), new ArrayList<>(driver.manage().getCookies()),
+                (Map<String, String>) page.get("storage"));
+    }
+
+    /**
+     * Restores this state into a browser session and leaves it on the checkpoint's URL
+     *
+     * @param driver The WebDriver of the session, normally a freshly reset one
+     */
+    public void restore(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            List<Map<String, Object>> cdpCookies = cookies.stream().map(SessionCache::toCdpCookie).toList();
+            ((HasCdp) driver).executeCdpCommand("Network.setCookies", Map.of("cookies", cdpCookies));
+            driver.navigate().to(url);
+        } else {
+            driver.navigate().to(url);
+            cookies.forEach(cookie -> driver.manage().addCookie(cookie));
+            driver.navigate().to(url);
+        }
+
+        if (!localStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, localStorage);
+            driver.navigate().to(url);
+        }
+    }
+}
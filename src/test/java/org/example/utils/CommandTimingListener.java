@@ -0,0 +1,75 @@
+package org.example.utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * WebDriver listener that times every call made through a decorated driver
+ * and its elements, navigation, options and other derived objects.
+ * Each sample is recorded per command, per test step and per page-object method.
+ */
+public class CommandTimingListener implements WebDriverListener {
+    private static final String PAGES_PACKAGE = "org.example.pages.";
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        LatencyRecorder.record("command:" + command, elapsed);
+
+        String step = StepTimer.currentStepName();
+        if (step != null) {
+            LatencyRecorder.record("step:" + step + "/" + command, elapsed);
+        }
+
+        String pageMethod = findPageMethod();
+        if (pageMethod != null) {
+            LatencyRecorder.record("page:" + pageMethod + "/" + command, elapsed);
+        }
+    }
+
+    /**
+     * Finds the outermost page-object method on the call stack, i.e. the one the test called
+     *
+     * @return The page method as "Class.method", or null if the call did not come from a page object
+     */
+    private static String findPageMethod() {
+        return stackWalker.walk(frames -> {
+            String outermost = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                if (frame.getClassName().startsWith(PAGES_PACKAGE)) {
+                    outermost = frame.getClassName().substring(PAGES_PACKAGE.length()) + "." + frame.getMethodName();
+                } else if (outermost != null) {
+                    break;
+                }
+            }
+            return outermost;
+        });
+    }
+}
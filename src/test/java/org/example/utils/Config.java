@@ -0,0 +1,434 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable snapshot of the test configuration, built once and read without locking.
+ * Layers are applied in order, later layers overriding earlier ones:
+ * <ol>
+ *     <li>test.properties</li>
+ *     <li>named profiles listed in "config.profiles", each loaded from test-&lt;profile&gt;.properties</li>
+ *     <li>environment variables prefixed with PERIPLUS_, e.g. PERIPLUS_BASE_URL for "base.url";
+ *     a double underscore stands for an underscore in the key, e.g. PERIPLUS_BOOK_TITLE__LINK for "book.title_link"</li>
+ *     <li>system properties (-Dkey=value)</li>
+ * </ol>
+ * Runtime overrides, such as the URL of a local server started by the suite, replace the
+ * whole snapshot atomically. Most classes read the snapshot each time they need a value, but a few keep
+ * values in static fields from the moment they load (TestData, BasePage's absence timeout, PageTiming,
+ * FailureArtifacts, ArtifactWriter, SessionCache, CheckpointRetry); overrides of those keys must happen first.
+ */
+public final class Config {
+    private static final Logger logger = LogManager.getLogger(Config.class);
+    private static final String BASE_FILE = "test.properties";
+    private static final String PROFILES_KEY = "config.profiles";
+    private static final String ENV_PREFIX = "PERIPLUS_";
+
+    private static volatile Config current;
+
+    private final Map<String, String> values;
+    private final List<String> profiles;
+
+    private Config(Map<String, String> values, List<String> profiles) {
+        this.values = Map.copyOf(values);
+        this.profiles = List.copyOf(profiles);
+    }
+
+    /**
+     * Gets the current configuration snapshot, loading it on first use
+     *
+     * @return The current configuration
+     */
+    public static Config get() {
+        Config config = current;
+        if (config == null) {
+            synchronized (Config.class) {
+                config = current;
+                if (config == null) {
+                    config = load(System.getenv(), System.getProperties());
+                    current = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Replaces the current snapshot with a copy in which the given key has a new value
+     *
+     * @param key The property key
+     * @param value The new value
+     */
+    public static synchronized void override(String key, String value) {
+        Map<String, String> values = new HashMap<>(get().values);
+        values.put(key, value);
+        current = new Config(values, get().profiles);
+        logger.info("Configuration override: {}={}", key, value);
+    }
+
+    /**
+     * Builds a configuration snapshot from the classpath files, the given environment and system properties
+     *
+     * @param environment The environment variables
+     * @param systemProperties The system properties
+     * @return The layered configuration
+     * @throws IllegalStateException if test.properties or a named profile cannot be found
+     */
+    static Config load(Map<String, String> environment, Properties systemProperties) {
+        Map<String, String> values = new HashMap<>(readClasspathProperties(BASE_FILE));
+
+        Map<String, String> environmentValues = new HashMap<>();
+        environment.forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX)) {
+                environmentValues.put(toKey(name.substring(ENV_PREFIX.length())), value);
+            }
+        });
+        Map<String, String> systemValues = new HashMap<>();
+        systemProperties.stringPropertyNames().forEach(name -> systemValues.put(name, systemProperties.getProperty(name)));
+
+        String profileList = systemValues.getOrDefault(PROFILES_KEY,
+                environmentValues.getOrDefault(PROFILES_KEY, values.getOrDefault(PROFILES_KEY, "")));
+        List<String> profiles = new ArrayList<>();
+        for (String profile : profileList.split(",")) {
+            if (!profile.isBlank()) {
+                profiles.add(profile.trim());
+                values.putAll(readClasspathProperties("test-" + profile.trim() + ".properties"));
+            }
+        }
+
+        values.putAll(environmentValues);
+        values.putAll(systemValues);
+
+        logger.info("Configuration loaded with profiles {}", profiles);
+        return new Config(values, profiles);
+    }
+
+    /**
+     * Converts an environment variable name without its prefix to a property key
+     * A single underscore becomes a dot and a double underscore an underscore.
+     *
+     * @param name The variable name without the PERIPLUS_ prefix, e.g. BOOK_TITLE__LINK
+     * @return The property key, e.g. "book.title_link"
+     */
+    static String toKey(String name) {
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(lowerCase.length());
+        for (int i = 0; i < lowerCase.length(); i++) {
+            char c = lowerCase.charAt(i);
+            if (c != '_') {
+                key.append(c);
+            } else if (i + 1 < lowerCase.length() && lowerCase.charAt(i + 1) == '_') {
+                key.append('_');
+                i++;
+            } else {
+                key.append('.');
+            }
+        }
+        return key.toString();
+    }
+
+    private static Map<String, String> readClasspathProperties(String fileName) {
+        try (InputStream input = Config.class.getClassLoader().getResourceAsStream(fileName)) {
+            if (input == null) {
+                logger.error("Unable to find {} file", fileName);
+                throw new IllegalStateException("Unable to find " + fileName + " file");
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+
+            Map<String, String> values = new HashMap<>();
+            properties.stringPropertyNames().forEach(name -> values.put(name, properties.getProperty(name)));
+            return values;
+        } catch (IOException e) {
+            logger.error("Failed to load {} file", fileName, e);
+            throw new UncheckedIOException("Failed to load " + fileName + " file", e);
+        }
+    }
+
+    /**
+     * Gets the names of the profiles applied to this snapshot
+     *
+     * @return The profile names in the order they were applied
+     */
+    public List<String> profiles() {
+        return profiles;
+    }
+
+    /**
+     * Gets a property value by key
+     *
+     * @param key The property key
+     * @return The property value or null if not found
+     */
+    public String get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            logger.warn("Property not found: {}", key);
+        }
+        return value;
+    }
+
+    /**
+     * Gets a property value by key with a default value
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Gets an integer property
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Gets a long property
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /**
+     * Gets a double property
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Gets a boolean property
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Gets a comma-separated list property
+     *
+     * @param key The property key
+     * @return The trimmed, non-empty list entries, or an empty list if key not found
+     */
+    public List<String> getList(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(entry -> !entry.isEmpty()).toList();
+    }
+
+    /**
+     * Gets a duration property given in milliseconds
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public Duration getMillis(String key, Duration defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Duration.ofMillis(Long.parseLong(value.trim()));
+    }
+
+    /**
+     * Gets a duration property given in seconds
+     *
+     * @param key The property key
+     * @param defaultValue The default value to return if key not found
+     * @return The property value or defaultValue if not found
+     */
+    public Duration getSeconds(String key, Duration defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Duration.ofSeconds(Long.parseLong(value.trim()));
+    }
+
+    /**
+     * Gets the storefront URL the page objects navigate to ("base.url")
+     *
+     * @return The base URL
+     */
+    public String baseUrl() {
+        return get("base.url", "https://www.periplus.com/");
+    }
+
+    /**
+     * Checks if browsers should run headless ("browser.headless")
+     *
+     * @return true if browsers run headless
+     */
+    public boolean headless() {
+        return getBoolean("browser.headless", false);
+    }
+
+    /**
+     * Checks if sessions are isolated browser contexts inside one shared browser ("browser.contexts")
+     *
+     * @return true if sessions share one Chrome process
+     */
+    public boolean browserContexts() {
+        return getBoolean("browser.contexts", false);
+    }
+
+    /**
+     * Gets the explicit wait timeout of the page objects ("wait.timeout.seconds")
+     *
+     * @return The explicit wait timeout
+     */
+    public Duration waitTimeout() {
+        return getSeconds("wait.timeout.seconds", Duration.ofSeconds(10));
+    }
+
+    /**
+     * Gets the implicit wait timeout of new browser sessions ("implicit.wait.seconds")
+     *
+     * @return The implicit wait timeout
+     */
+    public Duration implicitWait() {
+        return getSeconds("implicit.wait.seconds", Duration.ofSeconds(10));
+    }
+
+    /**
+     * Gets how long an absence check gives a displayed element to disappear ("absence.timeout.millis")
+     *
+     * @return The absence timeout
+     */
+    public Duration absenceTimeout() {
+        return getMillis("absence.timeout.millis", Duration.ofMillis(500));
+    }
+
+    /**
+     * Checks if locator waits use the MutationObserver engine ("wait.engine=observer")
+     *
+     * @return true if the observer wait engine is selected
+     */
+    public boolean observerWait() {
+        return "observer".equalsIgnoreCase(get("wait.engine", "polling"));
+    }
+
+    /**
+     * Checks if WebDriver commands are timed ("latency.instrumentation")
+     *
+     * @return true if drivers are decorated with the command timing listener
+     */
+    public boolean latencyInstrumentation() {
+        return getBoolean("latency.instrumentation", true);
+    }
+
+    /**
+     * Gets the directory latency reports are written to ("latency.report.dir")
+     *
+     * @return The latency report directory
+     */
+    public Path latencyReportDir() {
+        return Paths.get(get("latency.report.dir", "target/latency"));
+    }
+
+    /**
+     * Gets the number of TestNG threads ("test.threads"), defaulting to the available processors
+     *
+     * @return The test thread count
+     */
+    public int testThreads() {
+        return getInt("test.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gets the maximum number of pooled browser sessions ("pool.size"), defaulting to the available processors
+     *
+     * @return The pool size
+     */
+    public int poolSize() {
+        return getInt("pool.size", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gets how long a test waits for a pooled session ("pool.checkout.timeout.seconds")
+     *
+     * @return The checkout timeout
+     */
+    public Duration poolCheckoutTimeout() {
+        return getSeconds("pool.checkout.timeout.seconds", Duration.ofSeconds(120));
+    }
+
+    /**
+     * Gets how many tests a pooled session serves before it is recycled ("pool.max.uses")
+     *
+     * @return The maximum number of uses
+     */
+    public int poolMaxUses() {
+        return getInt("pool.max.uses", 50);
+    }
+
+    /**
+     * Gets how many browser sessions the suite launches before the first test ("pool.prewarm")
+     *
+     * @return The number of sessions to pre-warm, 0 to launch sessions on demand
+     */
+    public int poolPrewarm() {
+        return getInt("pool.prewarm", 0);
+    }
+
+    /**
+     * Gets how long suite start waits for pre-warmed sessions ("pool.prewarm.timeout.seconds")
+     *
+     * @return The pre-warm timeout
+     */
+    public Duration poolPrewarmTimeout() {
+        return getSeconds("pool.prewarm.timeout.seconds", Duration.ofSeconds(60));
+    }
+
+    /**
+     * Checks if the suite starts the local stand-in server ("local.server")
+     *
+     * @return true if the local server is used
+     */
+    public boolean localServer() {
+        return getBoolean("local.server", false);
+    }
+
+    /**
+     * Gets the port of the local stand-in server ("local.server.port"), 0 for any free port
+     *
+     * @return The local server port
+     */
+    public int localServerPort() {
+        return getInt("local.server.port", 0);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class ConfigTest {
+
+    @Test
+    void testPropertiesFileIsTheBaseLayer() {
+        Config config = Config.load(Map.of(), new Properties());
+
+        Assert.assertEquals(config.get("book.title"), "Cover Story");
+        Assert.assertFalse(config.localServer(), "Local server should be off without a profile");
+        Assert.assertEquals(config.waitTimeout(), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testLayersOverrideInOrder() {
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("config.profiles", "ci");
+        systemProperties.setProperty("wait.engine", "polling");
+
+        Config config = Config.load(Map.of(
+                "PERIPLUS_BASE_URL", "http://staging.example/",
+                "PERIPLUS_WAIT_ENGINE", "observer",
+                "UNRELATED_VARIABLE", "ignored"), systemProperties);
+
+        Assert.assertEquals(config.profiles(), List.of("ci"));
+        Assert.assertTrue(config.localServer(), "Profile should override test.properties");
+        Assert.assertTrue(config.headless(), "Profile should override defaults");
+        Assert.assertEquals(config.baseUrl(), "http://staging.example/", "Environment should override the profile");
+        Assert.assertFalse(config.observerWait(), "System properties should override the environment");
+        Assert.assertNull(config.get("unrelated.variable", null));
+    }
+
+    @Test
+    void testDoubleUnderscoreInEnvironmentNameIsKeptInKey() {
+        Config config = Config.load(Map.of("PERIPLUS_BOOK_TITLE__LINK", "/p/123/cover-story"), new Properties());
+
+        Assert.assertEquals(config.get("book.title_link"), "/p/123/cover-story");
+        Assert.assertEquals(Config.toKey("POOL_SIZE"), "pool.size");
+    }
+
+    @Test
+    void testMissingProfileFailsFast() {
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("config.profiles", "does-not-exist");
+
+        Assert.assertThrows(IllegalStateException.class, () -> Config.load(Map.of(), systemProperties));
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Factory responsible for launching and configuring new browser sessions
+ */
+public class DriverFactory {
+    private static final Logger logger = LogManager.getLogger(DriverFactory.class);
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Launches a new Chrome session with the settings of the active browser profile and the framework's timeouts
+     * A headless profile runs with a 1920x1080 window. Unless "latency.instrumentation" is false, the driver is decorated so that every
+     * WebDriver command is timed by CommandTimingListener. When "browser.contexts" is true the session is an
+     * isolated browser context inside one shared Chrome process instead of a browser of its own. The browser
+     * console is always logged; the DevTools network events only when "artifacts.network.log" is true
+     *
+     * @return A new WebDriver instance
+     */
+    public static WebDriver createDriver() {
+        return createDriver(getProfile());
+    }
+
+    /**
+     * Launches a new Chrome session with the given browser profile instead of the configured one
+     *
+     * @param profile The browser profile to launch the session with
+     * @return A new WebDriver instance
+     */
+    public static WebDriver createDriver(BrowserProfile profile) {
+        long start = System.nanoTime();
+        Config config = Config.get();
+
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (config.latencyInstrumentation()) {
+            listeners.add(new CommandTimingListener());
+        }
+
+        WebDriver driver;
+        boolean browserContexts = config.browserContexts();
+        if (browserContexts) {
+            driver = BrowserContextFactory.getInstance().openContext(chromeOptions(profile)).getDriver();
+        } else {
+            driver = new ChromeDriver(chromeOptions(profile));
+        }
+
+        profile.applyTo(driver);
+
+        if (!listeners.isEmpty()) {
+            driver = new EventFiringDecorator<>(listeners.toArray(WebDriverListener[]::new)).decorate(driver);
+        }
+        if (!profile.headless() && !browserContexts) {
+            driver.manage().window().maximize();
+        }
+        driver.manage().timeouts().implicitlyWait(config.implicitWait());
+
+        logger.info("Launched new browser session with profile '{}' in {} ms", profile.name(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return driver;
+    }
+
+    /**
+     * Gets the browser profile new sessions are launched with
+     *
+     * @return The active browser profile
+     */
+    public static BrowserProfile getProfile() {
+        return BrowserProfile.fromConfig(Config.get());
+    }
+
+    /**
+     * Quits the shared browser used for browser contexts, if one was launched
+     */
+    public static void shutdown() {
+        if (Config.get().browserContexts()) {
+            BrowserContextFactory.getInstance().shutdown();
+        }
+    }
+
+    private static ChromeOptions chromeOptions(BrowserProfile profile) {
+        ChromeOptions options = profile.toChromeOptions();
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        if (Config.get().getBoolean("artifacts.network.log", false)) {
+            logging.enable(LogType.PERFORMANCE, Level.ALL);
+        }
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        return options;
+    }
+}
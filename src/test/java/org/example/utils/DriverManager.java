@@ -0,0 +1,118 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides one WebDriver per test thread so that tests can run in parallel
+ * without sharing browser sessions. Page objects obtain their driver from here.
+ * Sessions are leased from the shared WebDriverPool and returned to it when released.
+ */
+public class DriverManager {
+    private static final Logger logger = LogManager.getLogger(DriverManager.class);
+    private static final ThreadLocal<WebDriver> driverHolder = new ThreadLocal<>();
+    private static final String LOG_ROUTE_KEY = "worker";
+    private static final Map<WebDriver, SessionWaits> waits = new ConcurrentHashMap<>();
+
+    private DriverManager() {
+    }
+
+    /**
+     * Leases a browser session from the pool and binds it to the current thread
+     * Log events of the thread are routed to their own file until the driver is released. Unnamed threads,
+     * such as virtual threads, have no name to tell them apart and keep logging to the shared file.
+     *
+     * @return The WebDriver instance bound to the current thread
+     */
+    public static WebDriver acquireDriver() {
+        String threadName = Thread.currentThread().getName();
+        if (!threadName.isBlank()) {
+            ThreadContext.put(LOG_ROUTE_KEY, threadName.replaceAll("[^A-Za-z0-9-]", "_"));
+        }
+        WebDriver driver = WebDriverPool.getInstance().acquire();
+        driverHolder.set(driver);
+        logger.info("Acquired WebDriver for thread: {}", Thread.currentThread().getName());
+        return driver;
+    }
+
+    /**
+     * Gets the WebDriver bound to the current thread
+     *
+     * @return The WebDriver instance bound to the current thread
+     * @throws IllegalStateException if no driver has been created for the current thread
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = driverHolder.get();
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver bound to thread: " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    /**
+     * Checks if a WebDriver is bound to the current thread
+     *
+     * @return true if the current thread has a driver, false otherwise
+     */
+    public static boolean hasDriver() {
+        return driverHolder.get() != null;
+    }
+
+    /**
+     * Gets the explicit waits shared by every page object of a browser session,
+     * creating them on first use
+     * The observer wait is only created when "wait.engine" is set to "observer"
+     *
+     * @param driver The WebDriver the waits belong to
+     * @return The waits of the session
+     */
+    public static SessionWaits getWaits(WebDriver driver) {
+        return waits.computeIfAbsent(driver, d -> {
+            Duration timeout = Config.get().waitTimeout();
+            WebDriverWait wait = new WebDriverWait(d, timeout);
+            return new SessionWaits(wait, Config.get().observerWait() ? new ObserverWait(d, wait, timeout) : null);
+        });
+    }
+
+    /**
+     * Forgets the shared waits of a browser session once it is released or quit
+     *
+     * @param driver The WebDriver the waits belong to
+     */
+    public static void forgetWaits(WebDriver driver) {
+        waits.remove(driver);
+    }
+
+    /**
+     * Returns the WebDriver bound to the current thread to the pool and unbinds it
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverHolder.get();
+        if (driver != null) {
+            try {
+                WebDriverPool.getInstance().release(driver);
+            } finally {
+                forgetWaits(driver);
+                driverHolder.remove();
+            }
+            logger.info("Released WebDriver for thread: {}", Thread.currentThread().getName());
+        }
+        ThreadContext.remove(LOG_ROUTE_KEY);
+    }
+
+    /**
+     * Explicit waits of one browser session
+     *
+     * @param pollingWait The polling wait using the configured timeout
+     * @param observerWait The MutationObserver wait, or null when the polling engine is selected
+     */
+    public record SessionWaits(WebDriverWait pollingWait, ObserverWait observerWait) {
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Historical durations in milliseconds, keyed by test or step name and persisted as a properties file.
+ * New measurements are blended into the history with an exponential moving average,
+ * so one slow run shifts the estimate without replacing it.
+ * Saving merges this run's measurements into the file as it is on disk at that moment, under a file lock,
+ * so that processes sharing the file (e.g. shards of one run) add to each other's history instead of
+ * the last one overwriting the rest.
+ */
+public class DurationHistory {
+    private static final Logger logger = LogManager.getLogger(DurationHistory.class);
+    private static final double SMOOTHING = 0.5;
+
+    private final Path file;
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the history from a file, starting empty if the file does not exist or cannot be read
+     *
+     * @param file The properties file holding the history
+     * @return The loaded history
+     */
+    public static DurationHistory load(Path file) {
+        DurationHistory history = new DurationHistory(file);
+        try {
+            history.durations.putAll(read(file));
+            if (!history.durations.isEmpty()) {
+                logger.info("Loaded {} historical durations from {}", history.durations.size(), file);
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable duration history {}: {}", file, e.getMessage());
+        }
+        return history;
+    }
+
+    /**
+     * Checks if the history holds any durations
+     *
+     * @return true if nothing has been loaded or recorded
+     */
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    /**
+     * Gets the estimated duration of a test or step
+     *
+     * @param key The test or step name
+     * @return The estimate in milliseconds, or empty if it never ran
+     */
+    public OptionalLong estimate(String key) {
+        Long duration = durations.get(key);
+        return duration == null ? OptionalLong.empty() : OptionalLong.of(duration);
+    }
+
+    /**
+     * Blends a new measurement into the history
+     *
+     * @param key The test or step name
+     * @param millis The measured duration in milliseconds
+     */
+    public void record(String key, long millis) {
+        durations.merge(key, millis, DurationHistory::blend);
+        measured.merge(key, millis, DurationHistory::blend);
+    }
+
+    /**
+     * Merges the measurements of this run into the file and replaces it atomically
+     * The file is re-read under an exclusive lock on "&lt;file&gt;.lock", so durations saved by other processes
+     * since this history was loaded are kept.
+     */
+    public void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                Map<String, Long> merged = new HashMap<>();
+                try {
+                    merged.putAll(read(file));
+                } catch (NumberFormatException e) {
+                    logger.warn("Replacing unreadable duration history {}: {}", file, e.getMessage());
+                }
+                measured.forEach((key, millis) -> merged.merge(key, millis, DurationHistory::blend));
+                write(merged);
+                durations.putAll(merged);
+            }
+            logger.info("Saved {} durations to {}", durations.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to save duration history: {}", e.getMessage());
+        }
+    }
+
+    private void write(Map<String, Long> values) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "durations", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# Historical durations in ms (moving average), keyed by test and step");
+            writer.newLine();
+            for (Map.Entry<String, Long> entry : new TreeMap<>(values).entrySet()) {
+                writer.write(escapeKey(entry.getKey()) + "=" + entry.getValue());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, Long> read(Path file) throws IOException {
+        Map<String, Long> values = new HashMap<>();
+        if (!Files.exists(file)) {
+            return values;
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            Properties properties = new Properties();
+            properties.load(input);
+            properties.stringPropertyNames().forEach(key -> values.put(key, Long.parseLong(properties.getProperty(key).trim())));
+        }
+        return values;
+    }
+
+    private static long blend(long previous, long current) {
+        return Math.round(previous * (1 - SMOOTHING) + current * SMOOTHING);
+    }
+
+    private static String escapeKey(String key) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : key.toCharArray()) {
+            if (" =:#!\\".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+public class DurationHistoryTest {
+
+    @Test
+    void testSavesOfTwoProcessesAreMerged() throws IOException {
+        Path file = Files.createTempDirectory("durations").resolve("durations.properties");
+        DurationHistory first = DurationHistory.load(file);
+        DurationHistory second = DurationHistory.load(file);
+
+        first.record("ShardOneTest.test", 100);
+        second.record("ShardTwoTest.test", 200);
+        first.save();
+        second.save();
+
+        DurationHistory merged = DurationHistory.load(file);
+        Assert.assertEquals(merged.estimate("ShardOneTest.test"), OptionalLong.of(100));
+        Assert.assertEquals(merged.estimate("ShardTwoTest.test"), OptionalLong.of(200));
+    }
+
+    @Test
+    void testMeasurementIsBlendedIntoSavedValue() throws IOException {
+        Path file = Files.createTempDirectory("durations").resolve("durations.properties");
+        DurationHistory earlier = DurationHistory.load(file);
+        earlier.record("SlowTest.test", 100);
+        earlier.save();
+
+        DurationHistory stale = DurationHistory.load(file);
+        DurationHistory other = DurationHistory.load(file);
+        other.record("SlowTest.test", 300);
+        other.save();
+        stale.record("SlowTest.test", 300);
+        stale.save();
+
+        Assert.assertEquals(DurationHistory.load(file).estimate("SlowTest.test"), OptionalLong.of(250),
+                "Both runs should be blended in, the second on top of the first");
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Captures what is needed to diagnose a failed test: a screenshot, the page source, the browser console and
+ * the network log (HAR, from Chrome's performance log when "artifacts.network.log" is true).
+ * Only the WebDriver calls run on the test thread; formatting, compression and disk I/O are handed to the ArtifactWriter.
+ */
+public class FailureArtifacts {
+    private static final Logger logger = LogManager.getLogger(FailureArtifacts.class);
+    private static final Path ARTIFACT_DIR = Paths.get(Config.get().get("artifacts.dir", "test-output/artifacts"));
+    private static final Map<WebDriver, Set<String>> logTypes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FailureArtifacts() {
+    }
+
+    /**
+     * Captures the artifacts of a browser session
+     * Each artifact is captured independently, so a dead session still yields whatever is available.
+     * A pooled session still holds the console and network entries of earlier tests, so only entries
+     * logged from the given start time on are kept.
+     *
+     * @param driver The WebDriver of the failed test
+     * @param name The name of the failed test, used for the artifact directory
+     * @param since The epoch millisecond the failed test started at
+     * @return The directory the artifacts are written to
+     */
+    public static Path capture(WebDriver driver, String name, long since) {
+        Path directory = ARTIFACT_DIR.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + System.currentTimeMillis());
+
+        try {
+            ArtifactWriter.write(directory.resolve("screenshot.png"), ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        } catch (WebDriverException | ClassCastException e) {
+            logger.warn("Failed to capture screenshot: {}", e.getMessage());
+        }
+
+        try {
+            String url = driver.getCurrentUrl();
+            String source = driver.getPageSource();
+            ArtifactWriter.writeCompressed(directory.resolve("page.html.gz"), () -> "<!-- " + url + " -->\n" + source);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to capture page source: {}", e.getMessage());
+        }
+
+        List<LogEntry> console = readLog(driver, LogType.BROWSER, since);
+        if (!console.isEmpty()) {
+            ArtifactWriter.writeCompressed(directory.resolve("console.log.gz"), () -> console.stream()
+                    .map(entry -> Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " " + entry.getMessage())
+                    .collect(Collectors.joining("\n", "", "\n")));
+        }
+
+        List<LogEntry> network = readLog(driver, LogType.PERFORMANCE, since);
+        if (!network.isEmpty()) {
+            ArtifactWriter.writeCompressed(directory.resolve("network.har.gz"), () -> NetworkLog.toHar(network));
+        }
+
+        logger.info("Failure artifacts of {} are being written to {}", name, directory);
+        return directory;
+    }
+
+    private static List<LogEntry> readLog(WebDriver driver, String type, long since) {
+        try {
+            if (!availableLogTypes(driver).contains(type)) {
+                return List.of();
+            }
+            return driver.manage().logs().get(type).getAll().stream()
+                    .filter(entry -> entry.getTimestamp() >= since)
+                    .toList();
+        } catch (WebDriverException e) {
+            logger.debug("Log {} is not available: {}", type, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * The log types of a session do not change, so they are asked for once per session
+     */
+    private static Set<String> availableLogTypes(WebDriver driver) {
+        Set<String> types = logTypes.get(driver);
+        if (types == null) {
+            types = driver.manage().logs().getAvailableLogTypes();
+            logTypes.put(driver, types);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.utils;
+
+/**
+ * Thread-safe latency histogram with percentile summaries and a fixed memory footprint.
+ * Samples are counted in log-linear buckets, HdrHistogram style: values below 128 ns are exact,
+ * and larger values fall into one of 64 buckets per power of two, so a reported percentile is
+ * within about 1.6% of the true sample. Memory does not grow with the number of samples,
+ * which keeps long-running load and monitor processes flat.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_HALF * 2;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records one latency sample
+     *
+     * @param nanos The latency in nanoseconds; negative values are counted as 0
+     */
+    public synchronized void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[bucketIndex(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Takes a summary of the samples recorded so far
+     *
+     * @return The count, mean, p50/p95/p99 and maximum of the samples
+     */
+    public Summary summarize() {
+        long[] snapshot;
+        long sampleCount;
+        long sum;
+        long maximum;
+        synchronized (this) {
+            snapshot = counts.clone();
+            sampleCount = count;
+            sum = total;
+            maximum = max;
+        }
+
+        if (sampleCount == 0) {
+            return new Summary(0, 0, 0, 0, 0, 0);
+        }
+        return new Summary(sampleCount,
+                sum / sampleCount,
+                percentile(snapshot, sampleCount, maximum, 50),
+                percentile(snapshot, sampleCount, maximum, 95),
+                percentile(snapshot, sampleCount, maximum, 99),
+                maximum);
+    }
+
+    /**
+     * Nearest-rank percentile, reported as the middle of the bucket holding that rank and capped at the maximum
+     */
+    private static long percentile(long[] counts, long sampleCount, long max, double percentile) {
+        long rank = Math.max((long) Math.ceil(percentile / 100.0 * sampleCount), 1);
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return Math.min(bucketMidpoint(index), max);
+            }
+        }
+        return max;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_HALF + (int) ((value >> shift) - SUB_BUCKET_HALF);
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return (subBucket << shift) + (1L << (shift - 1));
+    }
+
+    /**
+     * Summary of a histogram, all latencies in nanoseconds
+     *
+     * @param count The number of samples
+     * @param mean The mean latency
+     * @param p50 The median latency
+     * @param p95 The 95th percentile latency
+     * @param p99 The 99th percentile latency
+     * @param max The maximum latency
+     */
+    public record Summary(long count, long mean, long p50, long p95, long p99, long max) {
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1_000_000);
+        }
+
+        LatencyHistogram.Summary summary = histogram.summarize();
+        Assert.assertEquals(summary.count(), 1000);
+        Assert.assertEquals(summary.mean(), 500_500_000);
+        Assert.assertEquals(summary.max(), 1_000_000_000);
+        Assert.assertEquals(summary.p50(), 500_000_000, 500_000_000 * 0.016);
+        Assert.assertEquals(summary.p95(), 950_000_000, 950_000_000 * 0.016);
+        Assert.assertEquals(summary.p99(), 990_000_000, 990_000_000 * 0.016);
+    }
+
+    @Test
+    void testEveryValueMapsToABucketThatContainsIt() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1_000_003, 86_400_000_000_000L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long midpoint = LatencyHistogram.bucketMidpoint(index);
+            Assert.assertEquals(LatencyHistogram.bucketIndex(midpoint), index, "Midpoint of the bucket of " + value);
+            Assert.assertTrue(Math.abs(midpoint - (double) value) <= Math.max(1, value / 64.0), "Bucket of " + value + " is " + midpoint);
+        }
+    }
+}
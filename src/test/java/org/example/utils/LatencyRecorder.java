@@ -0,0 +1,119 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-wide registry of named latency histograms.
+ * Metric names are prefixed with their category, e.g. "command:WebElement.click",
+ * "page:HomePage.addProductToCart/WebElement.click" or "step:STEP 1: Navigate to Periplus website".
+ */
+public class LatencyRecorder {
+    private static final Logger logger = LogManager.getLogger(LatencyRecorder.class);
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private LatencyRecorder() {
+    }
+
+    /**
+     * Records one latency sample for a metric
+     *
+     * @param metric The metric name
+     * @param nanos The latency in nanoseconds
+     */
+    public static void record(String metric, long nanos) {
+        histograms.computeIfAbsent(metric, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Takes a summary of every metric recorded so far
+     *
+     * @return The metric summaries sorted by metric name
+     */
+    public static Map<String, LatencyHistogram.Summary> summarize() {
+        Map<String, LatencyHistogram.Summary> summaries = new TreeMap<>();
+        histograms.forEach((metric, histogram) -> summaries.put(metric, histogram.summarize()));
+        return summaries;
+    }
+
+    /**
+     * Discards all recorded samples
+     */
+    public static void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Writes the latency summaries as latency.json and latency.csv, in milliseconds
+     *
+     * @param directory The directory to write the reports to
+     */
+    public static void export(Path directory) {
+        Map<String, LatencyHistogram.Summary> summaries = summarize();
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            writeCsv(directory.resolve("latency.csv"), summaries);
+            writeJson(directory.resolve("latency.json"), summaries);
+            logger.info("Exported {} latency metrics to {}", summaries.size(), directory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to export latency metrics: {}", e.getMessage());
+        }
+    }
+
+    private static void writeCsv(Path file, Map<String, LatencyHistogram.Summary> summaries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("metric,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            writer.newLine();
+            for (Map.Entry<String, LatencyHistogram.Summary> entry : summaries.entrySet()) {
+                LatencyHistogram.Summary summary = entry.getValue();
+                writer.write(String.join(",",
+                        "\"" + entry.getKey().replace("\"", "\"\"") + "\"",
+                        String.valueOf(summary.count()),
+                        millis(summary.mean()),
+                        millis(summary.p50()),
+                        millis(summary.p95()),
+                        millis(summary.p99()),
+                        millis(summary.max())));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void writeJson(Path file, Map<String, LatencyHistogram.Summary> summaries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{");
+            boolean first = true;
+            for (Map.Entry<String, LatencyHistogram.Summary> entry : summaries.entrySet()) {
+                LatencyHistogram.Summary summary = entry.getValue();
+                writer.write(first ? "\n" : ",\n");
+                writer.write(String.format("  \"%s\": {\"count\": %d, \"mean_ms\": %s, \"p50_ms\": %s, "
+                                + "\"p95_ms\": %s, \"p99_ms\": %s, \"max_ms\": %s}",
+                        escapeJson(entry.getKey()), summary.count(), millis(summary.mean()), millis(summary.p50()),
+                        millis(summary.p95()), millis(summary.p99()), millis(summary.max())));
+                first = false;
+            }
+            writer.write("\n}\n");
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String escapeJson(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,371 @@
+package org.example.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.data.ProductCatalog;
+import org.example.data.ProductRow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP server that stands in for the Periplus storefront.
+ * Serves fixture pages for the home, login and account pages and the cart dropdown,
+ * containing every selector used by the page objects, so the suite can run without network access.
+ * Sessions, logins and carts are kept in memory per "PERIPLUS_SESSION" cookie. A session is only created for
+ * page and form requests, not for stylesheets, scripts or unknown paths, and sessions that have been idle for
+ * "local.server.session.idle.seconds" are swept away, so long load and monitor runs keep a bounded footprint.
+ */
+public class LocalPeriplusServer {
+    private static final Logger logger = LogManager.getLogger(LocalPeriplusServer.class);
+    private static final String SESSION_COOKIE = "PERIPLUS_SESSION";
+    private static final String FIXTURES = "fixtures/";
+    private static final Set<String> SESSION_PATHS =
+            Set.of("/", "/account/Login", "/account/Your-Account", "/cart/add", "/cart/clear");
+
+    private final int port;
+    private final Duration sessionIdleTimeout;
+    private final String validEmail;
+    private final String validPassword;
+    private final Map<String, String> templates = new HashMap<>();
+    private final Map<String, ProductRow> products = new LinkedHashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService sessionSweeper;
+
+    /**
+     * Constructor for LocalPeriplusServer
+     *
+     * @param port The port to listen on, or 0 to pick a free port
+     * @param validEmail The email address accepted by the login form
+     * @param validPassword The password accepted by the login form
+     */
+    public LocalPeriplusServer(int port, String validEmail, String validPassword) {
+        this(port, validEmail, validPassword,
+                Config.get().getSeconds("local.server.session.idle.seconds", Duration.ofMinutes(30)));
+    }
+
+    /**
+     * Constructor for LocalPeriplusServer with a given session idle timeout
+     *
+     * @param port The port to listen on, or 0 to pick a free port
+     * @param validEmail The email address accepted by the login form
+     * @param validPassword The password accepted by the login form
+     * @param sessionIdleTimeout How long a session is kept without requests
+     */
+    public LocalPeriplusServer(int port, String validEmail, String validPassword, Duration sessionIdleTimeout) {
+        this.port = port;
+        this.validEmail = validEmail;
+        this.validPassword = validPassword;
+        this.sessionIdleTimeout = sessionIdleTimeout;
+    }
+
+    /**
+     * Starts the server on the loopback interface
+     *
+     * @throws UncheckedIOException if the fixtures cannot be loaded or the port cannot be bound
+     */
+    public void start() {
+        try {
+            for (String name : List.of("home.html", "product-card.html", "cart-item.html", "login.html",
+                    "account.html", "product.html", "periplus.css", "periplus.js")) {
+                templates.put(name, readFixture(name));
+            }
+            loadProducts();
+
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            server.setExecutor(executor);
+            server.createContext("/", this::handle);
+            server.start();
+
+            sessionSweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "local-server-session-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long sweepMillis = Math.max(sessionIdleTimeout.toMillis() / 2, 1);
+            sessionSweeper.scheduleWithFixedDelay(this::expireIdleSessions, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start local Periplus server", e);
+        }
+        logger.info("Local Periplus server started at {}", getBaseUrl());
+    }
+
+    /**
+     * Stops the server and forgets all sessions
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            sessionSweeper.shutdownNow();
+            sessions.clear();
+            logger.info("Local Periplus server stopped");
+        }
+    }
+
+    /**
+     * Gets the base URL of the running server
+     *
+     * @return The base URL, ending with a slash
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Gets the number of live sessions
+     *
+     * @return The number of sessions currently kept in memory
+     */
+    int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Removes the sessions that have been idle for longer than the session idle timeout
+     */
+    void expireIdleSessions() {
+        long cutoff = System.nanoTime() - sessionIdleTimeout.toNanos();
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.lastAccessNanos - cutoff < 0);
+        int expired = before - sessions.size();
+        if (expired > 0) {
+            logger.debug("Expired {} idle sessions, {} left", expired, sessions.size());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            // Static files and product pages do not depend on the session, so they never create one
+            if (path.equals("/fixtures/periplus.css")) {
+                respond(exchange, 200, "text/css", templates.get("periplus.css"));
+                return;
+            } else if (path.equals("/fixtures/periplus.js")) {
+                respond(exchange, 200, "application/javascript", templates.get("periplus.js"));
+                return;
+            } else if (path.startsWith("/p/")) {
+                handleProduct(exchange, path);
+                return;
+            } else if (!SESSION_PATHS.contains(path)) {
+                respond(exchange, 404, "text/plain", "Not found: " + path);
+                return;
+            }
+
+            Session session = resolveSession(exchange);
+            if (path.equals("/")) {
+                respond(exchange, 200, "text/html", renderHome(session));
+            } else if (path.equals("/account/Login") && method.equals("POST")) {
+                handleLogin(exchange, session);
+            } else if (path.equals("/account/Login")) {
+                respond(exchange, 200, "text/html", renderLogin(false));
+            } else if (path.equals("/account/Your-Account")) {
+                if (session.email == null) {
+                    redirect(exchange, "/account/Login");
+                } else {
+                    respond(exchange, 200, "text/html",
+                            templates.get("account.html").replace("{{email}}", escape(session.email)));
+                }
+            } else if (path.equals("/cart/add") && method.equals("POST")) {
+                handleAddToCart(exchange, session);
+            } else if (path.equals("/cart/clear") && method.equals("POST")) {
+                session.cart.clear();
+                exchange.getResponseHeaders().add("X-Cart-Count", "0");
+                respond(exchange, 200, "text/html", "");
+            } else {
+                respond(exchange, 404, "text/plain", "Not found: " + path);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Local Periplus server failed to handle {}", exchange.getRequestURI(), e);
+            throw e;
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange, Session session) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        if (validEmail.equals(form.get("email")) && validPassword.equals(form.get("password"))) {
+            session.email = validEmail;
+            redirect(exchange, "/account/Your-Account");
+        } else {
+            respond(exchange, 200, "text/html", renderLogin(true));
+        }
+    }
+
+    private void handleAddToCart(HttpExchange exchange, Session session) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        ProductRow product = products.get(form.get("product_id"));
+        if (product == null) {
+            respond(exchange, 404, "text/plain", "Unknown product: " + form.get("product_id"));
+            return;
+        }
+
+        int quantity = Integer.parseInt(form.getOrDefault("qty", "1"));
+        session.cart.merge(product.id(), quantity, Integer::sum);
+
+        exchange.getResponseHeaders().add("X-Cart-Count", String.valueOf(session.cartCount()));
+        respond(exchange, 200, "text/html", renderCartItems(session));
+    }
+
+    private void handleProduct(HttpExchange exchange, String path) throws IOException {
+        String[] segments = path.split("/");
+        ProductRow product = segments.length > 2 ? products.get(segments[2]) : null;
+        if (product == null) {
+            respond(exchange, 404, "text/plain", "Not found: " + path);
+            return;
+        }
+        respond(exchange, 200, "text/html", templates.get("product.html")
+                .replace("{{title}}", escape(product.title()))
+                .replace("{{price}}", escape(product.price())));
+    }
+
+    private String renderHome(Session session) {
+        StringBuilder productCards = new StringBuilder();
+        for (ProductRow product : products.values()) {
+            productCards.append(fillProduct(templates.get("product-card.html"), product));
+        }
+
+        String accountLink = session.email == null
+                ? "<a href=\"/account/Login\">Sign In</a>"
+                : "<a href=\"/account/Your-Account\">My Account</a>";
+
+        return templates.get("home.html")
+                .replace("{{accountLink}}", accountLink)
+                .replace("{{cartCount}}", String.valueOf(session.cartCount()))
+                .replace("{{cartItems}}", renderCartItems(session))
+                .replace("{{products}}", productCards);
+    }
+
+    private String renderCartItems(Session session) {
+        StringBuilder items = new StringBuilder();
+        session.cart.forEach((id, quantity) -> items.append(
+                fillProduct(templates.get("cart-item.html"), products.get(id))
+                        .replace("{{quantity}}", String.valueOf(quantity))));
+        return items.toString();
+    }
+
+    private String renderLogin(boolean failed) {
+        String warning = failed
+                ? "<div class=\"warning\">Warning: No match for E-Mail Address and/or Password.</div>"
+                : "";
+        return templates.get("login.html").replace("{{warning}}", warning);
+    }
+
+    private String fillProduct(String template, ProductRow product) {
+        return template
+                .replace("{{href}}", "/p/" + product.id() + "/" + product.titleLink())
+                .replace("{{id}}", product.id())
+                .replace("{{title}}", escape(product.title()))
+                .replace("{{price}}", escape(product.price()));
+    }
+
+    private Session resolveSession(HttpExchange exchange) {
+        String cookieHeader = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookieHeader != null) {
+            for (String cookie : cookieHeader.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                    Session session = sessions.get(pair[1]);
+                    if (session != null) {
+                        session.lastAccessNanos = System.nanoTime();
+                        return session;
+                    }
+                }
+            }
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        Session session = new Session();
+        sessions.put(sessionId, session);
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/; HttpOnly");
+        return session;
+    }
+
+    private Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            if (keyValue.length == 2) {
+                form.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType + "; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private void loadProducts() {
+        try (ProductCatalog.RowIterator rows = ProductCatalog.open(FIXTURES + "products.csv", ProductCatalog.Shard.ALL)) {
+            rows.forEachRemaining(product -> products.put(product.id(), product));
+        }
+    }
+
+    private static String readFixture(String name) throws IOException {
+        try (InputStream input = openFixture(name)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static InputStream openFixture(String name) throws IOException {
+        InputStream input = LocalPeriplusServer.class.getClassLoader().getResourceAsStream(FIXTURES + name);
+        if (input == null) {
+            throw new IOException("Missing fixture: " + FIXTURES + name);
+        }
+        return input;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+
+    private static class Session {
+        private volatile String email;
+        private volatile long lastAccessNanos = System.nanoTime();
+        private final Map<String, Integer> cart = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        private int cartCount() {
+            return cart.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+public class LocalPeriplusServerTest {
+
+    @Test
+    void testOnlyPageRequestsCreateSessions() throws IOException, InterruptedException {
+        LocalPeriplusServer server = new LocalPeriplusServer(0, "api@example.com", "secret", Duration.ofMinutes(30));
+        server.start();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (String path : new String[]{"fixtures/periplus.css", "fixtures/periplus.js", "favicon.ico"}) {
+                client.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl() + path)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+            Assert.assertEquals(server.sessionCount(), 0, "Static files and unknown paths should not create sessions");
+
+            client.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl())).build(), HttpResponse.BodyHandlers.discarding());
+            Assert.assertEquals(server.sessionCount(), 1);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testIdleSessionsExpire() throws IOException, InterruptedException {
+        LocalPeriplusServer server = new LocalPeriplusServer(0, "api@example.com", "secret", Duration.ofMillis(50));
+        server.start();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            client.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl())).build(), HttpResponse.BodyHandlers.discarding());
+            Assert.assertEquals(server.sessionCount(), 1);
+
+            Thread.sleep(100);
+            server.expireIdleSessions();
+
+            Assert.assertEquals(server.sessionCount(), 0, "A session idle for longer than the timeout should be removed");
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the DevTools network events of Chrome's performance log into a HAR 1.2 document.
+ * Only what the events carry is filled in: URL, method, headers, status, MIME type, size and total time.
+ */
+public class NetworkLog {
+    private static final Json json = new Json();
+
+    private NetworkLog() {
+    }
+
+    /**
+     * Converts performance log entries to HAR
+     *
+     * @param entries The entries of the "performance" log type
+     * @return The HAR document as JSON
+     */
+    @SuppressWarnings("unchecked")
+    public static String toHar(List<LogEntry> entries) {
+        Map<String, Map<String, Object>> requests = new LinkedHashMap<>();
+
+        for (LogEntry entry : entries) {
+            Map<String, Object> logMessage = json.toType(entry.getMessage(), Map.class);
+            Map<String, Object> message = (Map<String, Object>) logMessage.get("message");
+            String method = (String) message.get("method");
+            Map<String, Object> params = (Map<String, Object>) message.get("params");
+            if (method == null || params == null || !method.startsWith("Network.")) {
+                continue;
+            }
+
+            String requestId = (String) params.get("requestId");
+            switch (method) {
+                case "Network.requestWillBeSent" -> {
+                    Map<String, Object> request = (Map<String, Object>) params.get("request");
+                    Map<String, Object> har = new LinkedHashMap<>();
+                    har.put("startedDateTime", Instant.ofEpochMilli((long) (number(params.get("wallTime")) * 1000)).toString());
+                    har.put("_start", number(params.get("timestamp")));
+                    har.put("request", Map.of(
+                            "method", request.get("method"),
+                            "url", request.get("url"),
+                            "httpVersion", "",
+                            "headers", headers(request.get("headers")),
+                            "queryString", List.of(),
+                            "cookies", List.of(),
+                            "headersSize", -1,
+                            "bodySize", -1));
+                    requests.put(requestId, har);
+                }
+                case "Network.responseReceived" -> {
+                    Map<String, Object> har = requests.get(requestId);
+                    if (har != null) {
+                        Map<String, Object> response = (Map<String, Object>) params.get("response");
+                        har.put("_response", response);
+                    }
+                }
+                case "Network.loadingFinished", "Network.loadingFailed" -> {
+                    Map<String, Object> har = requests.get(requestId);
+                    if (har != null) {
+                        har.put("_end", number(params.get("timestamp")));
+                        har.put("_size", params.getOrDefault("encodedDataLength", -1));
+                        if (params.get("errorText") != null) {
+                            har.put("_error", params.get("errorText"));
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        List<Map<String, Object>> harEntries = new ArrayList<>();
+        for (Map<String, Object> har : requests.values()) {
+            harEntries.add(toEntry(har));
+        }
+        return json.toJson(Map.of("log", Map.of(
+                "version", "1.2",
+                "creator", Map.of("name", "PeriplusTest", "version", "1.0"),
+                "pages", List.of(),
+                "entries", harEntries)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toEntry(Map<String, Object> har) {
+        Map<String, Object> response = (Map<String, Object>) har.getOrDefault("_response", Map.of());
+        Object size = har.getOrDefault("_size", -1);
+        double time = har.containsKey("_end") ? (number(har.get("_end")) - number(har.get("_start"))) * 1000 : -1;
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", har.get("startedDateTime"));
+        entry.put("time", time);
+        entry.put("request", har.get("request"));
+        entry.put("response", Map.of(
+                "status", response.getOrDefault("status", 0),
+                "statusText", response.getOrDefault("statusText", ""),
+                "httpVersion", response.getOrDefault("protocol", ""),
+                "headers", headers(response.get("headers")),
+                "cookies", List.of(),
+                "content", Map.of("size", size, "mimeType", response.getOrDefault("mimeType", "")),
+                "redirectURL", "",
+                "headersSize", -1,
+                "bodySize", size));
+        entry.put("cache", Map.of());
+        entry.put("timings", Map.of("send", 0, "wait", Math.max(time, 0), "receive", 0));
+        if (har.containsKey("_error")) {
+            entry.put("_error", har.get("_error"));
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> headers(Object headers) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (headers instanceof Map) {
+            ((Map<String, Object>) headers).forEach((name, value) -> result.add(Map.of("name", name, "value", String.valueOf(value))));
+        }
+        return result;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Event-driven wait engine that resolves as soon as an element becomes visible or clickable.
+ * A MutationObserver is injected with a single asynchronous script, so the browser reports the
+ * element itself instead of being polled over WebDriver every 500 ms. Falls back to the regular
+ * polling wait when the locator cannot be expressed in the page or the script cannot be injected.
+ */
+public class ObserverWait {
+    private static final Logger logger = LogManager.getLogger(ObserverWait.class);
+
+    private static final String WAIT_SCRIPT = String.join("\n",
+            "var using = arguments[0], value = arguments[1], clickable = arguments[2], timeoutMs = arguments[3];",
+            "var done = arguments[arguments.length - 1];",
+            "function find() {",
+            "  if (using === 'xpath') {",
+            "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;",
+            "  }",
+            "  return document.querySelector(value);",
+            "}",
+            "function ready() {",
+            "  var el = find();",
+            "  if (!el || !el.isConnected) return null;",
+            "  var style = window.getComputedStyle(el);",
+            "  if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) return null;",
+            "  var rect = el.getBoundingClientRect();",
+            "  if (rect.width === 0 || rect.height === 0) return null;",
+            "  if (clickable && el.disabled) return null;",
+            "  return el;",
+            "}",
+            "var found = ready();",
+            "if (found) { done(found); return; }",
+            "var finished = false, observer, interval, timer;",
+            "function finish(result) {",
+            "  if (finished) return;",
+            "  finished = true;",
+            "  observer.disconnect(); clearInterval(interval); clearTimeout(timer);",
+            "  done(result);",
+            "}",
+            "function check() { var el = ready(); if (el) finish(el); }",
+            "observer = new MutationObserver(check);",
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});",
+            // Hover and transition styles change visibility without mutating the DOM
+            "interval = setInterval(check, 100);",
+            "timer = setTimeout(function () { finish(null); }, timeoutMs);");
+
+    // The W3C default script timeout, which nothing in the framework changes
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+    // Time the script needs on top of its own timer to report back over WebDriver
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+    private final WebDriver driver;
+    private final WebDriverWait fallbackWait;
+    private final Duration timeout;
+
+    /**
+     * Constructor for ObserverWait
+     *
+     * @param driver The WebDriver instance to wait on
+     * @param fallbackWait The polling wait used when the observer cannot be injected
+     * @param timeout The maximum time to wait for an element
+     */
+    public ObserverWait(WebDriver driver, WebDriverWait fallbackWait, Duration timeout) {
+        this.driver = driver;
+        this.fallbackWait = fallbackWait;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Waits for an element to be visible in the DOM
+     *
+     * @param locator The By locator to find the element
+     * @return The WebElement once it is visible
+     * @throws TimeoutException if element is not visible within the timeout period
+     */
+    public WebElement untilVisible(By locator) {
+        return await(locator, false);
+    }
+
+    /**
+     * Waits for an element to be visible and enabled
+     *
+     * @param locator The By locator to find the element
+     * @return The WebElement once it is clickable
+     * @throws TimeoutException if element is not clickable within the timeout period
+     */
+    public WebElement untilClickable(By locator) {
+        return await(locator, true);
+    }
+
+    private WebElement await(By locator, boolean clickable) {
+        By.Remotable.Parameters parameters = toScriptLocator(locator);
+        if (parameters == null) {
+            return poll(locator, clickable);
+        }
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = runWaitScript(parameters, clickable);
+        } catch (WebDriverException e) {
+            Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+            if (remaining.isNegative() || remaining.isZero()) {
+                throw new TimeoutException("Expected element to be " + (clickable ? "clickable" : "visible")
+                        + " within " + timeout.toMillis() + " ms: " + locator, e);
+            }
+            logger.debug("Observer wait could not be injected for {}, polling for the remaining {} ms: {}",
+                    locator, remaining.toMillis(), e.getMessage());
+            return new WebDriverWait(driver, remaining).until(clickable
+                    ? ExpectedConditions.elementToBeClickable(locator)
+                    : ExpectedConditions.visibilityOfElementLocated(locator));
+        }
+
+        if (result instanceof WebElement) {
+            return (WebElement) result;
+        }
+        throw new TimeoutException("Expected element to be " + (clickable ? "clickable" : "visible")
+                + " within " + timeout.toMillis() + " ms: " + locator);
+    }
+
+    /**
+     * Runs the wait script, raising the driver's script timeout for the call when the wait would outlast it
+     * Most waits fit in the default script timeout, so they cost no extra round trips.
+     *
+     * @param parameters The locator in the form understood by the script
+     * @param clickable Whether the element must also be enabled
+     * @return The element, or null if the script's own timer ran out
+     */
+    private Object runWaitScript(By.Remotable.Parameters parameters, boolean clickable) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        Duration needed = timeout.plus(SCRIPT_TIMEOUT_MARGIN);
+        if (needed.compareTo(DEFAULT_SCRIPT_TIMEOUT) <= 0) {
+            return executor.executeAsyncScript(WAIT_SCRIPT, parameters.using(), parameters.value(), clickable, timeout.toMillis());
+        }
+
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration previous = timeouts.getScriptTimeout();
+        timeouts.scriptTimeout(needed);
+        try {
+            return executor.executeAsyncScript(WAIT_SCRIPT, parameters.using(), parameters.value(), clickable, timeout.toMillis());
+        } finally {
+            timeouts.scriptTimeout(previous);
+        }
+    }
+
+    private WebElement poll(By locator, boolean clickable) {
+        return fallbackWait.until(clickable
+                ? ExpectedConditions.elementToBeClickable(locator)
+                : ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Converts a locator into the CSS selector or XPath form understood by the wait script
+     *
+     * @param locator The By locator to convert
+     * @return The W3C locator parameters, or null if the locator cannot be evaluated in the page
+     */
+    public static By.Remotable.Parameters toScriptLocator(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        switch (parameters.using()) {
+            case "css selector":
+            case "xpath":
+                return parameters;
+            case "tag name":
+                return new By.Remotable.Parameters("css selector", parameters.value());
+            default:
+                return null;
+        }
+    }
+}
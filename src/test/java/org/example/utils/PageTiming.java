@@ -0,0 +1,116 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the browser's own view of how fast a page was, from the Navigation Timing, Paint Timing and
+ * Resource Timing APIs, in a single script call per navigation. Timing metrics are recorded in the
+ * LatencyRecorder as "browser:&lt;page&gt;/&lt;metric&gt;" and every metric is checked by PerformanceBudget.
+ */
+public class PageTiming {
+    private static final Logger logger = LogManager.getLogger(PageTiming.class);
+    private static final boolean ENABLED = Config.get().getBoolean("perf.capture", true);
+    private static final long SETTLE_MILLIS = Config.get().getLong("perf.capture.wait.millis", 1000);
+
+    /**
+     * Metrics that are durations in milliseconds, as opposed to counts and sizes
+     */
+    public static final Set<String> TIME_METRICS =
+            Set.of("ttfb", "domContentLoaded", "load", "firstPaint", "firstContentfulPaint", "slowestResource");
+
+    // Waits until DOMContentLoaded and the first contentful paint have happened, or the settle time has passed,
+    // so that the metrics are complete without waiting for the load event under the eager page-load strategy
+    private static final String CAPTURE_SCRIPT =
+            "var settle = arguments[0], done = arguments[arguments.length - 1], start = Date.now();" +
+            "function paints() {" +
+            "  var result = {};" +
+            "  performance.getEntriesByType('paint').forEach(function (p) { result[p.name] = p.startTime; });" +
+            "  return result;" +
+            "}" +
+            "function collect() {" +
+            "  var nav = performance.getEntriesByType('navigation')[0];" +
+            "  var paint = paints();" +
+            "  var resources = performance.getEntriesByType('resource');" +
+            "  var transfer = 0, slowest = 0;" +
+            "  resources.forEach(function (r) { transfer += r.transferSize || 0; slowest = Math.max(slowest, r.duration); });" +
+            "  done({" +
+            "    url: location.href," +
+            "    ttfb: nav ? nav.responseStart - nav.startTime : null," +
+            "    domContentLoaded: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null," +
+            "    load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null," +
+            "    firstPaint: paint['first-paint'] === undefined ? null : paint['first-paint']," +
+            "    firstContentfulPaint: paint['first-contentful-paint'] === undefined ? null : paint['first-contentful-paint']," +
+            "    resourceCount: resources.length," +
+            "    transferKb: transfer / 1024," +
+            "    slowestResource: slowest" +
+            "  });" +
+            "}" +
+            "(function poll() {" +
+            "  var nav = performance.getEntriesByType('navigation')[0];" +
+            "  var ready = nav && nav.domContentLoadedEventEnd > 0 && paints()['first-contentful-paint'] !== undefined;" +
+            "  if (ready || Date.now() - start >= settle) { collect(); } else { setTimeout(poll, 50); }" +
+            "})();";
+
+    private PageTiming() {
+    }
+
+    /**
+     * Captures the timing of the document currently loaded and checks it against the performance budgets
+     * Does nothing when "perf.capture" is false. Failures to capture are logged and never fail the caller.
+     *
+     * @param js The JavascriptExecutor of the session
+     * @param page The name of the page, e.g. "HomePage"
+     * @return The captured metrics, or null if capturing is disabled or failed
+     */
+    @SuppressWarnings("unchecked")
+    public static PageMetrics capture(JavascriptExecutor js, String page) {
+        if (!ENABLED) {
+            return null;
+        }
+
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) js.executeAsyncScript(CAPTURE_SCRIPT, SETTLE_MILLIS);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to capture page timing of {}: {}", page, e.getMessage());
+            return null;
+        }
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        result.forEach((name, value) -> {
+            if (value instanceof Number number) {
+                metrics.put(name, number.doubleValue());
+            }
+        });
+        PageMetrics pageMetrics = new PageMetrics(page, (String) result.get("url"), Collections.unmodifiableMap(metrics));
+
+        metrics.forEach((name, value) -> {
+            if (TIME_METRICS.contains(name)) {
+                LatencyRecorder.record("browser:" + page + "/" + name, (long) (value * 1_000_000));
+            }
+        });
+        logger.info("Page timing of {}: {}", page, metrics);
+
+        PerformanceBudget.check(pageMetrics);
+        return pageMetrics;
+    }
+
+    /**
+     * Browser-side metrics of one page load
+     *
+     * @param page The name of the page
+     * @param url The URL of the document the metrics belong to
+     * @param metrics The metrics by name; durations in milliseconds since navigation start, sizes in KB.
+     *                Metrics the browser did not report, such as "load" before the load event, are absent
+     */
+    public record PageMetrics(String page, String url, Map<String, Double> metrics) {
+    }
+}
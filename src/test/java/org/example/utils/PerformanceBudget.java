@@ -0,0 +1,149 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks browser-side page metrics against fixed budgets and against a recorded baseline.
+ * Budgets are configured per page and metric as "budget.&lt;page&gt;.&lt;metric&gt;", e.g. "budget.HomePage.firstContentfulPaint=2500".
+ * A metric also fails when it is more than "perf.regression.threshold" (a fraction, 0.25 by default) and at least
+ * "perf.regression.min.millis" above its value in the baseline file "perf.baseline.file".
+ * Violations are collected per thread, so that the test that caused them can be failed once it has finished.
+ */
+public class PerformanceBudget {
+    private static final Logger logger = LogManager.getLogger(PerformanceBudget.class);
+    private static final Map<Path, Map<String, Double>> baselines = new ConcurrentHashMap<>();
+    private static final Map<String, List<Double>> samples = new ConcurrentHashMap<>();
+    private static final ThreadLocal<List<String>> violations = ThreadLocal.withInitial(ArrayList::new);
+
+    private PerformanceBudget() {
+    }
+
+    /**
+     * Checks page metrics against their budgets and baseline, and remembers them for a baseline update
+     * Violations are added to the current thread's list.
+     *
+     * @param pageMetrics The metrics of one page load
+     */
+    public static void check(PageTiming.PageMetrics pageMetrics) {
+        pageMetrics.metrics().forEach((metric, value) -> samples
+                .computeIfAbsent(pageMetrics.page() + "." + metric, k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(value));
+        Config config = Config.get();
+        Map<String, Double> baseline = baselines.computeIfAbsent(baselineFile(config), PerformanceBudget::loadBaseline);
+        violations.get().addAll(evaluate(pageMetrics, config, baseline));
+    }
+
+    /**
+     * Evaluates page metrics against budgets and a baseline without recording anything
+     *
+     * @param pageMetrics The metrics of one page load
+     * @param config The configuration holding the "budget.*" values and the regression thresholds
+     * @param baseline The baseline value per "&lt;page&gt;.&lt;metric&gt;" key
+     * @return The violation messages, empty if the page stayed within budget
+     */
+    public static List<String> evaluate(PageTiming.PageMetrics pageMetrics, Config config, Map<String, Double> baseline) {
+        double regressionThreshold = config.getDouble("perf.regression.threshold", 0.25);
+        double regressionMinMillis = config.getDouble("perf.regression.min.millis", 100);
+
+        List<String> found = new ArrayList<>();
+        pageMetrics.metrics().forEach((metric, value) -> {
+            String key = pageMetrics.page() + "." + metric;
+
+            String budget = config.get("budget." + key, null);
+            if (budget != null && value > Double.parseDouble(budget)) {
+                found.add(String.format("%s %s is %.0f, over its budget of %s", pageMetrics.page(), metric, value, budget));
+            }
+
+            Double expected = baseline.get(key);
+            if (expected != null && value > expected * (1 + regressionThreshold) && value - expected >= regressionMinMillis) {
+                found.add(String.format("%s %s is %.0f, %.0f%% above its baseline of %.0f",
+                        pageMetrics.page(), metric, value, (value / expected - 1) * 100, expected));
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Returns and clears the budget violations of the current thread
+     *
+     * @return The violation messages, empty if every page stayed within budget
+     */
+    public static List<String> drainViolations() {
+        List<String> current = violations.get();
+        violations.remove();
+        return current;
+    }
+
+    /**
+     * Writes the median of every metric seen during this run as the new baseline
+     */
+    public static void updateBaseline() {
+        Map<String, Double> medians = new TreeMap<>();
+        samples.forEach((key, values) -> {
+            List<Double> sorted;
+            synchronized (values) {
+                sorted = values.stream().sorted().toList();
+            }
+            medians.put(key, sorted.get(sorted.size() / 2));
+        });
+        if (medians.isEmpty()) {
+            return;
+        }
+
+        Path baselineFile = baselineFile(Config.get());
+        try {
+            if (baselineFile.getParent() != null) {
+                Files.createDirectories(baselineFile.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(baselineFile, StandardCharsets.UTF_8)) {
+                writer.write("# Page timing baseline: median per page and metric, durations in ms, sizes in KB");
+                writer.newLine();
+                for (Map.Entry<String, Double> entry : medians.entrySet()) {
+                    writer.write(entry.getKey() + "=" + String.format(Locale.ROOT, "%.1f", entry.getValue()));
+                    writer.newLine();
+                }
+            }
+            logger.info("Saved page timing baseline with {} metrics to {}", medians.size(), baselineFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to save page timing baseline: {}", e.getMessage());
+        }
+    }
+
+    private static Path baselineFile(Config config) {
+        return Paths.get(config.get("perf.baseline.file", "benchmarks/page-timing-baseline.properties"));
+    }
+
+    private static Map<String, Double> loadBaseline(Path baselineFile) {
+        Map<String, Double> values = new ConcurrentHashMap<>();
+        if (!Files.exists(baselineFile)) {
+            return values;
+        }
+
+        try (InputStream input = Files.newInputStream(baselineFile)) {
+            Properties properties = new Properties();
+            properties.load(input);
+            properties.stringPropertyNames().forEach(key -> values.put(key, Double.parseDouble(properties.getProperty(key))));
+            logger.info("Loaded page timing baseline with {} metrics from {}", values.size(), baselineFile);
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable page timing baseline {}: {}", baselineFile, e.getMessage());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class PerformanceBudgetTest {
+
+    private static Config budgets() {
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("budget.HomePage.domContentLoaded", "5000");
+        systemProperties.setProperty("budget.HomePage.firstContentfulPaint", "4000");
+        systemProperties.setProperty("perf.regression.threshold", "0.25");
+        systemProperties.setProperty("perf.regression.min.millis", "100");
+        return Config.load(Map.of(), systemProperties);
+    }
+
+    @Test
+    void testMetricOverBudgetIsReportedOnce() {
+        List<String> violations = PerformanceBudget.evaluate(new PageTiming.PageMetrics("HomePage", "http://localhost/",
+                Map.of("domContentLoaded", 9000.0, "firstContentfulPaint", 120.0, "resourceCount", 40.0)),
+                budgets(), Map.of());
+
+        Assert.assertEquals(violations.size(), 1, "Violations: " + violations);
+        Assert.assertTrue(violations.get(0).startsWith("HomePage domContentLoaded is 9000"), violations.get(0));
+    }
+
+    @Test
+    void testPagesWithoutBudgetPass() {
+        List<String> violations = PerformanceBudget.evaluate(new PageTiming.PageMetrics("AccountPage",
+                "http://localhost/account/Your-Account", Map.of("domContentLoaded", 60000.0)), budgets(), Map.of());
+
+        Assert.assertTrue(violations.isEmpty(), "Violations: " + violations);
+    }
+
+    @Test
+    void testRegressionAgainstBaselineNeedsRelativeAndAbsoluteIncrease() {
+        Map<String, Double> baseline = Map.of("AccountPage.domContentLoaded", 1000.0, "AccountPage.load", 200.0);
+
+        List<String> violations = PerformanceBudget.evaluate(new PageTiming.PageMetrics("AccountPage",
+                "http://localhost/account/Your-Account", Map.of("domContentLoaded", 1400.0, "load", 290.0)),
+                budgets(), baseline);
+
+        Assert.assertEquals(violations.size(), 1, "Violations: " + violations);
+        Assert.assertTrue(violations.get(0).startsWith("AccountPage domContentLoaded is 1400, 40% above its baseline of 1000"),
+                violations.get(0));
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Appends CSV rows to a file and rolls it over once it reaches a size limit,
+ * so that a process running around the clock keeps a bounded amount of history.
+ * The current file is renamed to "&lt;file&gt;.1", older files shift up by one and the
+ * oldest is deleted. Every file starts with the header row.
+ */
+public class RollingCsvWriter {
+    private final Path file;
+    private final String header;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    /**
+     * Constructor for RollingCsvWriter
+     *
+     * @param file The file rows are appended to
+     * @param header The header row written at the top of every file
+     * @param maxBytes The size at which the file is rolled over
+     * @param maxFiles The number of rolled-over files to keep besides the current one
+     */
+    public RollingCsvWriter(Path file, String header, long maxBytes, int maxFiles) {
+        this.file = file;
+        this.header = header;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Appends one row, rolling the file over first if it has reached the size limit
+     * Fields containing commas, quotes or line breaks are quoted.
+     *
+     * @param fields The fields of the row
+     * @throws IOException if the file cannot be rolled over or written
+     */
+    public synchronized void append(List<String> fields) throws IOException {
+        if (Files.exists(file) && Files.size(file) >= maxBytes) {
+            rollOver();
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        boolean newFile = !Files.exists(file) || Files.size(file) == 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (newFile) {
+                writer.write(header);
+                writer.newLine();
+            }
+            writer.write(fields.stream().map(RollingCsvWriter::quote).collect(Collectors.joining(",")));
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Gets the path of a rolled-over file
+     *
+     * @param generation 1 for the most recent rolled-over file
+     * @return The path of that file
+     */
+    public Path rolledFile(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    private void rollOver() throws IOException {
+        if (maxFiles < 1) {
+            Files.delete(file);
+            return;
+        }
+        Files.deleteIfExists(rolledFile(maxFiles));
+        for (int generation = maxFiles - 1; generation >= 1; generation--) {
+            if (Files.exists(rolledFile(generation))) {
+                Files.move(rolledFile(generation), rolledFile(generation + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String quote(String field) {
+        if (field == null) {
+            return "";
+        }
+        if (field.contains(",") || field.contains("\"") || field.contains("\n") || field.contains("\r")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+}
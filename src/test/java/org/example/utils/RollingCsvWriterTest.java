@@ -0,0 +1,41 @@
+package org.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class RollingCsvWriterTest {
+
+    @Test
+    void testRowsAreAppendedBelowOneHeader() throws IOException {
+        Path file = Files.createTempDirectory("metrics").resolve("metrics.csv");
+        RollingCsvWriter writer = new RollingCsvWriter(file, "time,status,error", 1024, 2);
+
+        writer.append(List.of("1", "ok", ""));
+        writer.append(List.of("2", "failed", "Login was rejected, \"bad\" password"));
+
+        Assert.assertEquals(Files.readAllLines(file), List.of(
+                "time,status,error",
+                "1,ok,",
+                "2,failed,\"Login was rejected, \"\"bad\"\" password\""));
+    }
+
+    @Test
+    void testFullFileIsRolledOverAndOldestDropped() throws IOException {
+        Path file = Files.createTempDirectory("metrics").resolve("metrics.csv");
+        RollingCsvWriter writer = new RollingCsvWriter(file, "row", 5, 2);
+
+        for (int row = 1; row <= 4; row++) {
+            writer.append(List.of("row" + row));
+        }
+
+        Assert.assertEquals(Files.readAllLines(file), List.of("row", "row4"));
+        Assert.assertEquals(Files.readAllLines(writer.rolledFile(1)), List.of("row", "row3"));
+        Assert.assertEquals(Files.readAllLines(writer.rolledFile(2)), List.of("row", "row2"));
+        Assert.assertFalse(Files.exists(writer.rolledFile(3)), "Only two rolled-over files should be kept");
+    }
+}
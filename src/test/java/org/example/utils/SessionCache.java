@@ -0,0 +1,272 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.pages.HomePage;
+import org.example.pages.LoginPage;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches authenticated session cookies per user so that tests can start already signed in.
+ * The first test for a user logs in through the UI; its cookies are kept in memory and persisted
+ * to a local file together with their expiry, and injected into later sessions. When injected
+ * cookies are rejected by the site the cache falls back to a UI login and refreshes itself.
+ */
+public class SessionCache {
+    private static final Logger logger = LogManager.getLogger(SessionCache.class);
+    private static final Path cacheDirectory = Paths.get(Config.get().get("session.cache.dir", "target/session-cache"));
+    private static final Duration sessionCookieTtl =
+            Duration.ofMinutes(Config.get().getLong("session.cache.ttl.minutes", 60));
+
+    private static final Map<String, CachedSession> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private SessionCache() {
+    }
+
+    /**
+     * Signs the current thread's browser session in as the given user,
+     * reusing cached cookies when possible and logging in through the UI otherwise
+     *
+     * @param email The email address of the user
+     * @param password The password of the user
+     * @return The homepage, opened and signed in
+     * @throws IllegalStateException if the UI login fails
+     */
+    public static HomePage login(String email, String password) {
+        WebDriver driver = DriverManager.getDriver();
+        Object lock = locks.computeIfAbsent(email, key -> new Object());
+
+        CachedSession cached;
+        synchronized (lock) {
+            cached = getCachedSession(email);
+        }
+        if (cached != null && restore(driver, cached)) {
+            return new HomePage(driver);
+        }
+
+        synchronized (lock) {
+            CachedSession current = getCachedSession(email);
+            if (current != null && current != cached && restore(driver, current)) {
+                return new HomePage(driver);
+            }
+            invalidate(email);
+
+            logger.info("Logging in through the UI as {}", email);
+            HomePage homePage = new HomePage(driver);
+            homePage.navigateTo();
+            LoginPage loginPage = homePage.clickSignIn();
+            loginPage.performLogin(email, password);
+            if (!loginPage.isLoginWarningAbsent()) {
+                throw new IllegalStateException("UI login failed for " + email);
+            }
+
+            store(email, driver);
+            homePage = new HomePage(driver);
+            homePage.navigateTo();
+            return homePage;
+        }
+    }
+
+    /**
+     * Stores the cookies of a signed-in browser session for the given user
+     *
+     * @param email The email address of the signed-in user
+     * @param driver The WebDriver holding the authenticated session
+     */
+    public static void store(String email, WebDriver driver) {
+        CachedSession session = new CachedSession(new ArrayList<>(driver.manage().getCookies()), System.currentTimeMillis());
+        sessions.put(email, session);
+        save(email, session);
+        logger.info("Cached {} session cookies for {}", session.cookies().size(), email);
+    }
+
+    /**
+     * Removes the cached cookies of the given user from memory and disk
+     *
+     * @param email The email address of the user
+     */
+    public static void invalidate(String email) {
+        sessions.remove(email);
+        try {
+            Files.deleteIfExists(cacheFile(email));
+        } catch (IOException e) {
+            logger.warn("Failed to delete session cache for {}: {}", email, e.getMessage());
+        }
+    }
+
+    private static CachedSession getCachedSession(String email) {
+        CachedSession session = sessions.get(email);
+        if (session == null) {
+            session = load(email);
+            if (session != null) {
+                sessions.put(email, session);
+            }
+        }
+        if (session == null || session.isExpired()) {
+            return null;
+        }
+        return session;
+    }
+
+    private static boolean restore(WebDriver driver, CachedSession session) {
+        HomePage homePage = new HomePage(driver);
+        if (driver instanceof HasCdp) {
+            // One CDP call sets every cookie before the first page load
+            List<Map<String, Object>> cookies = session.cookies().stream().map(SessionCache::toCdpCookie).toList();
+            ((HasCdp) driver).executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+            homePage.navigateTo();
+        } else {
+            homePage.navigateTo();
+            session.cookies().forEach(cookie -> driver.manage().addCookie(cookie));
+            homePage.navigateTo();
+        }
+
+        if (homePage.isSignedIn()) {
+            logger.info("Restored cached session with {} cookies", session.cookies().size());
+            return true;
+        }
+        logger.info("Cached session cookies were rejected, falling back to UI login");
+        driver.manage().deleteAllCookies();
+        return false;
+    }
+
+    /**
+     * Converts a Selenium cookie to the cookie parameter of the CDP Network.setCookies command
+     *
+     * @param cookie The cookie to convert
+     * @return The CDP cookie parameter
+     */
+    static Map<String, Object> toCdpCookie(Cookie cookie) {
+        Map<String, Object> cdpCookie = new HashMap<>();
+        cdpCookie.put("name", cookie.getName());
+        cdpCookie.put("value", cookie.getValue());
+        cdpCookie.put("domain", cookie.getDomain());
+        cdpCookie.put("path", cookie.getPath());
+        cdpCookie.put("secure", cookie.isSecure());
+        cdpCookie.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            cdpCookie.put("expires", cookie.getExpiry().getTime() / 1000);
+        }
+        if (cookie.getSameSite() != null) {
+            cdpCookie.put("sameSite", cookie.getSameSite());
+        }
+        return cdpCookie;
+    }
+
+    private static Path cacheFile(String email) {
+        return cacheDirectory.resolve(email.replaceAll("[^A-Za-z0-9.-]", "_") + ".cookies");
+    }
+
+    private static void save(String email, CachedSession session) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path file = cacheFile(email);
+            Path temp = Files.createTempFile(cacheDirectory, "session", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# saved " + session.savedAt());
+                writer.newLine();
+                for (Cookie cookie : session.cookies()) {
+                    writer.write(String.join("\t",
+                            encode(cookie.getName()),
+                            encode(cookie.getValue()),
+                            encode(cookie.getDomain()),
+                            encode(cookie.getPath()),
+                            cookie.getExpiry() == null ? "" : String.valueOf(cookie.getExpiry().getTime()),
+                            String.valueOf(cookie.isSecure()),
+                            String.valueOf(cookie.isHttpOnly()),
+                            encode(cookie.getSameSite())));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to persist session cookies for {}: {}", email, e.getMessage());
+        }
+    }
+
+    private static CachedSession load(String email) {
+        Path file = cacheFile(email);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long savedAt = Long.parseLong(reader.readLine().substring("# saved ".length()));
+            List<Cookie> cookies = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                cookies.add(new Cookie.Builder(decode(fields[0]), decode(fields[1]))
+                        .domain(decodeOptional(fields[2]))
+                        .path(decodeOptional(fields[3]))
+                        .expiresOn(fields[4].isEmpty() ? null : new Date(Long.parseLong(fields[4])))
+                        .isSecure(Boolean.parseBoolean(fields[5]))
+                        .isHttpOnly(Boolean.parseBoolean(fields[6]))
+                        .sameSite(decodeOptional(fields[7]))
+                        .build());
+            }
+            logger.info("Loaded {} cached session cookies for {}", cookies.size(), email);
+            return new CachedSession(cookies, savedAt);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable session cache {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes an optional cookie attribute, which is written as an empty field when it is not set
+     */
+    private static String decodeOptional(String value) {
+        return value.isEmpty() ? null : decode(value);
+    }
+
+    /**
+     * Cookies of an authenticated session
+     *
+     * @param cookies The session cookies
+     * @param savedAt When the cookies were captured, in epoch milliseconds
+     */
+    private record CachedSession(List<Cookie> cookies, long savedAt) {
+
+        /**
+         * A session is expired once any persistent cookie has expired,
+         * or once session cookies have outlived the configured time to live
+         */
+        boolean isExpired() {
+            long now = System.currentTimeMillis();
+            if (now - savedAt > sessionCookieTtl.toMillis()) {
+                return true;
+            }
+            return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().getTime() <= now);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A test flow made of named steps, with a checkpoint of the browser state after each step that succeeds.
+ * When a flow fails, its progress is kept under the flow's ID. Running the same flow again, e.g. from a retry,
+ * restores the last checkpoint into the current session and continues with the step that failed instead of
+ * starting over. A flow that completes forgets its progress.
+ * A checkpoint is only taken once a step succeeds, so a step that changes server state, such as adding to the
+ * cart, may already have taken effect when it failed. Such steps are added with a check that tells whether
+ * their effect is already there; the resumed flow then skips the step instead of applying it twice.
+ */
+public class StepFlow {
+    private static final Logger logger = LogManager.getLogger(StepFlow.class);
+    private static final Map<String, Progress> progressById = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Constructor for StepFlow
+     *
+     * @param id Identifies the flow across attempts, e.g. the test method and its parameters
+     */
+    public StepFlow(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Adds a step to the flow
+     * Steps must not rely on objects created by earlier steps, since they may run in a new session restored
+     * from a checkpoint; page objects should be created from the current driver inside the step.
+     *
+     * @param name The name of the step, also used for its StepTimer timing
+     * @param action The step's actions and assertions
+     * @return This flow
+     */
+    public StepFlow step(String name, Runnable action) {
+        return step(name, action, null);
+    }
+
+    /**
+     * Adds a step that must not be replayed once its effect is in place
+     *
+     * @param name The name of the step, also used for its StepTimer timing
+     * @param action The step's actions and assertions
+     * @param alreadyApplied Checks, in the restored session, whether a failed attempt of the step already took
+     *                       effect; null if the step can simply be run again
+     * @return This flow
+     */
+    public StepFlow step(String name, Runnable action, BooleanSupplier alreadyApplied) {
+        steps.add(new Step(name, action, alreadyApplied));
+        return this;
+    }
+
+    /**
+     * Runs the flow in the current thread's browser session, resuming after the last checkpoint if an
+     * earlier attempt of this flow failed
+     */
+    public void run() {
+        int next = 0;
+        Progress progress = progressById.get(id);
+        if (progress != null) {
+            next = progress.completedSteps();
+            logger.info("Resuming flow {} at '{}' from the checkpoint of '{}'",
+                    id, steps.get(next).name(), steps.get(next - 1).name());
+            progress.checkpoint().restore(DriverManager.getDriver());
+        }
+
+        for (int i = next; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            StepTimer.begin(step.name());
+            if (progress != null && i == next && step.alreadyApplied() != null && step.alreadyApplied().getAsBoolean()) {
+                logger.info("Not replaying '{}' of flow {}: the failed attempt already took effect", step.name(), id);
+            } else {
+                step.action().run();
+            }
+            progressById.put(id, new Progress(i + 1, Checkpoint.capture(DriverManager.getDriver())));
+        }
+        progressById.remove(id);
+    }
+
+    /**
+     * Checks if a failed attempt of a flow left a checkpoint to resume from
+     *
+     * @param id The ID of the flow
+     * @return true if the flow can resume after its first step
+     */
+    public static boolean hasCheckpoint(String id) {
+        return progressById.containsKey(id);
+    }
+
+    /**
+     * Forgets the progress of a flow, so that its next run starts from the first step
+     *
+     * @param id The ID of the flow
+     */
+    public static void discard(String id) {
+        progressById.remove(id);
+    }
+
+    private record Step(String name, Runnable action, BooleanSupplier alreadyApplied) {
+    }
+
+    private record Progress(int completedSteps, Checkpoint checkpoint) {
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Tracks the named test step running on the current thread and records its duration.
+ * Starting a step ends the previous one, so a test only has to announce its steps.
+ */
+public class StepTimer {
+    private static final Logger logger = LogManager.getLogger(StepTimer.class);
+    private static final ThreadLocal<Step> currentStep = new ThreadLocal<>();
+
+    private StepTimer() {
+    }
+
+    /**
+     * Ends the current step, if any, and starts a new one
+     *
+     * @param name The name of the step, e.g. "STEP 1: Navigate to Periplus website"
+     */
+    public static void begin(String name) {
+        end();
+        logger.info(name);
+        currentStep.set(new Step(name, System.nanoTime()));
+    }
+
+    /**
+     * Ends the current step and records its duration under "step:&lt;name&gt;"
+     */
+    public static void end() {
+        Step step = currentStep.get();
+        if (step != null) {
+            currentStep.remove();
+            LatencyRecorder.record("step:" + step.name(), System.nanoTime() - step.startNanos());
+        }
+    }
+
+    /**
+     * Gets the name of the step running on the current thread
+     *
+     * @return The step name, or null if no step is running
+     */
+    public static String currentStepName() {
+        Step step = currentStep.get();
+        return step == null ? null : step.name();
+    }
+
+    private record Step(String name, long startNanos) {
+    }
+}
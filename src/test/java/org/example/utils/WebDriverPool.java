@@ -0,0 +1,400 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of warm browser sessions that are reused across tests.
+ * Sessions are reset (cookies, storage and extra windows) when returned to the pool,
+ * health-checked when handed out, and evicted when dead, leaking or worn out.
+ * Clearing cookies does not touch state kept on the server: a signed-in account's cart survives the reset.
+ * A cart reset installed with setCartReset() runs before the cookies are cleared to empty it; without one,
+ * the server-side cart is left as it is.
+ */
+public class WebDriverPool {
+    private static final Logger logger = LogManager.getLogger(WebDriverPool.class);
+    private static volatile WebDriverPool instance;
+
+    private final int maxSize;
+    private final Duration checkoutTimeout;
+    private final int maxUses;
+    private final BrowserProfile profile;
+
+    private final Semaphore capacity;
+    private final LinkedBlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder totalCheckoutNanos = new LongAdder();
+    private final AtomicLong maxCheckoutNanos = new AtomicLong();
+
+    private volatile Consumer<WebDriver> cartReset;
+    private volatile boolean shutDown;
+
+    /**
+     * Constructor for WebDriverPool
+     *
+     * @param maxSize The maximum number of live sessions, leased and idle combined
+     * @param checkoutTimeout How long acquire() may block waiting for a free session
+     * @param maxUses How many tests a session may serve before it is recycled
+     */
+    public WebDriverPool(int maxSize, Duration checkoutTimeout, int maxUses) {
+        this(maxSize, checkoutTimeout, maxUses, DriverFactory.getProfile());
+    }
+
+    /**
+     * Constructor for WebDriverPool with sessions launched from a given browser profile
+     *
+     * @param maxSize The maximum number of live sessions, leased and idle combined
+     * @param checkoutTimeout How long acquire() may block waiting for a free session
+     * @param maxUses How many tests a session may serve before it is recycled
+     * @param profile The browser profile new sessions are launched with
+     */
+    public WebDriverPool(int maxSize, Duration checkoutTimeout, int maxUses, BrowserProfile profile) {
+        this.maxSize = maxSize;
+        this.checkoutTimeout = checkoutTimeout;
+        this.maxUses = maxUses;
+        this.profile = profile;
+        this.capacity = new Semaphore(maxSize);
+    }
+
+    /**
+     * Gets the pool shared by the whole test run, creating it from the current configuration on first use
+     * The pool's size, timeouts and browser profile are fixed from then on, so Config.override() calls
+     * for them must happen before the first call.
+     *
+     * @return The shared WebDriverPool instance
+     */
+    public static WebDriverPool getInstance() {
+        WebDriverPool pool = instance;
+        if (pool == null) {
+            synchronized (WebDriverPool.class) {
+                pool = instance;
+                if (pool == null) {
+                    Config config = Config.get();
+                    pool = new WebDriverPool(config.poolSize(), config.poolCheckoutTimeout(), config.poolMaxUses());
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Hands out a healthy session, reusing an idle one when possible and launching
+     * a new one while the pool is below its maximum size
+     *
+     * @return A WebDriver leased to the caller until release() is called
+     * @throws IllegalStateException if no session becomes available within the checkout timeout
+     */
+    public WebDriver acquire() {
+        long start = System.nanoTime();
+        long deadline = start + checkoutTimeout.toNanos();
+
+        try {
+            while (true) {
+                PooledSession session = idleSessions.pollFirst();
+                if (session != null) {
+                    if (isHealthy(session)) {
+                        hits.increment();
+                        return lease(session, start);
+                    }
+                    evict(session, "failed health check");
+                    continue;
+                }
+
+                if (capacity.tryAcquire()) {
+                    try {
+                        session = new PooledSession(DriverFactory.createDriver(profile));
+                    } catch (RuntimeException e) {
+                        capacity.release();
+                        throw e;
+                    }
+                    misses.increment();
+                    return lease(session, start);
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out after " + checkoutTimeout.toSeconds()
+                            + " s waiting for a browser session from a pool of " + maxSize);
+                }
+
+                // Wake up periodically in case an eviction freed capacity instead of returning a session
+                session = idleSessions.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)), TimeUnit.NANOSECONDS);
+                if (session != null) {
+                    idleSessions.offerFirst(session);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+
+    /**
+     * Launches browser sessions concurrently on virtual threads and adds them to the pool as idle sessions,
+     * so that browser start-up overlaps instead of adding up when the first tests acquire sessions.
+     * Blocks until every session is ready or the timeout expires; sessions still starting at that point
+     * join the pool when they are ready.
+     *
+     * @param count The number of sessions to launch, capped at the free capacity of the pool
+     * @param warmUp Prepares each new session before it becomes idle, e.g. by opening the start page
+     * @param timeout How long to wait for the sessions to become ready
+     * @return The number of sessions that were ready within the timeout
+     */
+    public int prewarm(int count, Consumer<WebDriver> warmUp, Duration timeout) {
+        long start = System.nanoTime();
+        List<Future<Boolean>> launches = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < count && capacity.tryAcquire(); i++) {
+                launches.add(executor.submit(() -> warmSession(warmUp)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int ready = 0;
+        long deadline = start + timeout.toNanos();
+        for (Future<Boolean> launch : launches) {
+            try {
+                if (launch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    ready++;
+                }
+            } catch (TimeoutException e) {
+                logger.warn("Browser session still starting after {} s, it will join the pool when ready", timeout.toSeconds());
+            } catch (ExecutionException e) {
+                logger.warn("Pre-warming a browser session failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        logger.info("Pre-warmed {} of {} browser sessions in {} ms", ready, launches.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return ready;
+    }
+
+    /**
+     * Installs the step that empties a released session's server-side cart, e.g. CartApiClient::clearCart
+     * The step runs while the session still holds its cookies. A failing cart reset is logged and the
+     * session is still returned to the pool.
+     *
+     * @param cartReset Empties the cart of the session, or null to leave server-side carts alone
+     */
+    public void setCartReset(Consumer<WebDriver> cartReset) {
+        this.cartReset = cartReset;
+    }
+
+    /**
+     * Returns a session to the pool after resetting its state.
+     * Sessions that cannot be reset, leak windows or have reached their maximum number of uses are evicted.
+     *
+     * @param driver The WebDriver previously obtained from acquire()
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            logger.warn("Released a WebDriver that was not leased from the pool, quitting it");
+            quietlyQuit(driver);
+            return;
+        }
+
+        session.uses++;
+        if (session.uses >= maxUses) {
+            evict(session, "reached " + maxUses + " uses");
+            return;
+        }
+
+        try {
+            Set<String> windowHandles = driver.getWindowHandles();
+            if (windowHandles.size() > 1) {
+                evict(session, "leaked " + (windowHandles.size() - 1) + " extra windows");
+                return;
+            }
+            resetCart(driver);
+            resetState(driver);
+        } catch (WebDriverException e) {
+            evict(session, "reset failed: " + e.getMessage());
+            return;
+        }
+
+        idleSessions.offerFirst(session);
+    }
+
+    /**
+     * Quits every session owned by the pool and logs the pool statistics
+     */
+    public void shutdown() {
+        shutDown = true;
+        PooledSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            quietlyQuit(session.driver);
+            capacity.release();
+        }
+        for (WebDriver driver : leasedSessions.keySet()) {
+            if (leasedSessions.remove(driver) != null) {
+                quietlyQuit(driver);
+                capacity.release();
+            }
+        }
+        logger.info("WebDriver pool shut down - {}", getStats());
+    }
+
+    /**
+     * Gets a snapshot of the pool hit/miss, eviction and checkout latency counters
+     *
+     * @return The current pool statistics
+     */
+    public PoolStats getStats() {
+        long checkoutCount = checkouts.sum();
+        return new PoolStats(
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                checkoutCount == 0 ? Duration.ZERO : Duration.ofNanos(totalCheckoutNanos.sum() / checkoutCount),
+                Duration.ofNanos(maxCheckoutNanos.get()));
+    }
+
+    private boolean warmSession(Consumer<WebDriver> warmUp) {
+        WebDriver driver;
+        try {
+            driver = DriverFactory.createDriver(profile);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+
+        PooledSession session = new PooledSession(driver);
+        try {
+            warmUp.accept(driver);
+        } catch (RuntimeException e) {
+            evict(session, "warm-up failed: " + e.getMessage());
+            throw e;
+        }
+
+        if (shutDown) {
+            evict(session, "pool was shut down while the session was starting");
+            return false;
+        }
+        idleSessions.offerLast(session);
+        return true;
+    }
+
+    private WebDriver lease(PooledSession session, long checkoutStart) {
+        long elapsed = System.nanoTime() - checkoutStart;
+        checkouts.increment();
+        totalCheckoutNanos.add(elapsed);
+        maxCheckoutNanos.accumulateAndGet(elapsed, Math::max);
+
+        leasedSessions.put(session.driver, session);
+        return session.driver;
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void resetCart(WebDriver driver) {
+        Consumer<WebDriver> reset = cartReset;
+        if (reset == null) {
+            return;
+        }
+        try {
+            reset.accept(driver);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reset the cart of a released browser session: {}", e.getMessage());
+        }
+    }
+
+    private void resetState(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            // Clears cookies for every domain, not just the one currently loaded
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+
+        try {
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (WebDriverException e) {
+            logger.debug("Storage could not be cleared on {}: {}", driver.getCurrentUrl(), e.getMessage());
+        }
+
+        driver.navigate().to("about:blank");
+    }
+
+    private void evict(PooledSession session, String reason) {
+        evictions.increment();
+        logger.info("Evicting browser session after {} uses: {}", session.uses, reason);
+        quietlyQuit(session.driver);
+        capacity.release();
+    }
+
+    private void quietlyQuit(WebDriver driver) {
+        DriverManager.forgetWaits(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Failed to quit browser session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Counters describing how well the pool is serving checkouts
+     *
+     * @param hits Checkouts served by an idle session
+     * @param misses Checkouts that had to launch a new browser
+     * @param evictions Sessions discarded because they were dead, leaking or worn out
+     * @param averageCheckout Average time spent in acquire()
+     * @param maxCheckout Longest time spent in acquire()
+     */
+    public record PoolStats(long hits, long misses, long evictions, Duration averageCheckout, Duration maxCheckout) {
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, evictions=%d, avg checkout=%d ms, max checkout=%d ms",
+                    hits, misses, evictions, averageCheckout.toMillis(), maxCheckout.toMillis());
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+document.querySelectorAll('.addtocart').forEach(function (button) {
+    button.addEventListener('click', function (event) {
+        event.preventDefault();
+        fetch('/cart/add', {
+            method: 'POST',
+            headers: {'Content-Type': 'application/x-www-form-urlencoded'},
+            body: 'product_id=' + encodeURIComponent(button.dataset.productId) + '&qty=1'
+        }).then(function (response) {
+            var count = response.headers.get('X-Cart-Count');
+            return response.text().then(function (items) {
+                document.querySelector('.shopping-list').innerHTML = items;
+                document.getElementById('cart_total').textContent = count;
+            });
+        });
+    });
+});